@@ -0,0 +1,18 @@
+package com.myfinances.account.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cliente Feign para consultar el perfil (y settings) de user-service
+ */
+@FeignClient(name = "user-service", url = "${services.user-service.url:http://user-service:8084}")
+public interface UserServiceClient {
+
+    @GetMapping("/api/v1/users/profile")
+    Map<String, Object> getProfile(@RequestHeader("X-User-Id") UUID userId);
+}
@@ -0,0 +1,172 @@
+package com.myfinances.account.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfinances.account.service.UserDataVersionService;
+import com.myfinances.account.service.UserZoneResolver;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * ⭐ GET condicionales (ETag / If-None-Match) a partir de la versión de datos del usuario
+ *
+ * - El ETag se calcula en memoria antes de ejecutar el controller: un 304 no toca la base ni user-service
+ * - La versión se lee antes de armar la respuesta, así un ETag nunca corresponde a datos más nuevos que él
+ * - Incluye el día y el timezone del usuario: las respuestas que dependen de la fecha actual (mes en curso)
+ *   se renuevan al cambiar el día del usuario o su timezone
+ * - El timezone es el registrado en user_timezones, leído una vez por versión de datos y cacheado junto a ella
+ *   (un cambio de timezone reconstruye los agregados y cambia la versión)
+ * - Solo se envía en respuestas 2xx JSON (no en errores ni en descargas)
+ * - Solo aplica a recursos cuyo contenido depende únicamente de transacciones y categorías del usuario
+ */
+@ControllerAdvice
+public class DataVersionETagInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    static final String USER_HEADER = "X-User-Id";
+
+    /**
+     * ETag calculado en preHandle, pendiente de enviar si la respuesta resulta 2xx JSON
+     */
+    private static final String ETAG_ATTRIBUTE = DataVersionETagInterceptor.class.getName() + ".etag";
+
+    private final UserDataVersionService dataVersions;
+    private final UserZoneResolver userZoneResolver;
+    private final Cache<UUID, VersionedZone> zones;
+
+    /**
+     * UserZoneResolver llega diferido: su cliente Feign necesita la configuración de MVC, que registra este interceptor
+     */
+    public DataVersionETagInterceptor(
+            UserDataVersionService dataVersions,
+            @Lazy UserZoneResolver userZoneResolver,
+            @Value("${account.data-version.max-users:100000}") long maxUsers) {
+        this.dataVersions = dataVersions;
+        this.userZoneResolver = userZoneResolver;
+        this.zones = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /**
+     * Timezone registrado del usuario, válido mientras no cambie su versión de datos
+     */
+    private record VersionedZone(long version, ZoneId zone) {
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        UUID userId = parseUserId(request.getHeader(USER_HEADER));
+        if (userId == null) {
+            return true; // Sin usuario válido el controller responde el error habitual
+        }
+
+        long version = dataVersions.current(userId);
+        ZoneId zone = zoneOf(userId, version);
+        String etag = "\"" + Long.toString(version, 36) + "-" + LocalDate.now(zone).toEpochDay() + "-" + zone.getId() + "\"";
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            setCacheHeaders(response, etag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    /**
+     * Solo la primera request después de cada cambio de versión lee user_timezones
+     */
+    private ZoneId zoneOf(UUID userId, long version) {
+        VersionedZone cached = zones.getIfPresent(userId);
+        if (cached != null && cached.version() == version) {
+            return cached.zone();
+        }
+        ZoneId zone = userZoneResolver.lastKnownZoneOf(userId);
+        zones.put(userId, new VersionedZone(version, zone));
+        return zone;
+    }
+
+    // ==================== ENVÍO DEL ETAG ====================
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Agrega el ETag recién cuando se conoce el resultado: solo respuestas 2xx con cuerpo JSON
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(ETAG_ATTRIBUTE) instanceof String etag
+                && MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)) {
+            HttpServletResponse httpResponse = servletResponse.getServletResponse();
+            if (httpResponse.getStatus() >= 200 && httpResponse.getStatus() < 300) {
+                setCacheHeaders(httpResponse, etag);
+            }
+        }
+        return body;
+    }
+
+    private void setCacheHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.VARY, USER_HEADER);
+    }
+
+    /**
+     * If-None-Match admite una lista de ETags y la comparación débil (W/)
+     * "*" no se acepta: solo tiene sentido para escrituras condicionales
+     */
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private UUID parseUserId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
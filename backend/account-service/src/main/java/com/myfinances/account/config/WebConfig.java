@@ -0,0 +1,25 @@
+package com.myfinances.account.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de Spring MVC
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DataVersionETagInterceptor dataVersionETagInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // ⭐ Lecturas que dependen solo de transacciones y categorías (no /accounts: consulta investment-service)
+        // La exportación se descarga en streaming: no lleva ETag ni responde 304
+        registry.addInterceptor(dataVersionETagInterceptor)
+                .addPathPatterns("/api/v1/transactions/**", "/api/v1/categories/**", "/api/v1/reports/**")
+                .excludePathPatterns("/api/v1/transactions/export");
+    }
+}
@@ -57,6 +57,14 @@ public class CategoryController {
         return ResponseEntity.ok(service.toResponseDTOList(service.findRootCategories(userId)));
     }
 
+    /**
+     * ⭐ Obtener el árbol completo de categorías con totales por subárbol
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<CategoryTreeDTO>> getTree(@RequestHeader("X-User-Id") UUID userId) {
+        return ResponseEntity.ok(service.getTree(userId));
+    }
+
     /**
      * Obtener subcategorías de una categoría padre
      */
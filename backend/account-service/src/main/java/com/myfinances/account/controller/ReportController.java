@@ -1,12 +1,15 @@
 package com.myfinances.account.controller;
 
+import com.myfinances.account.dto.CashflowDTO;
 import com.myfinances.account.dto.CategorySummaryDTO;
 import com.myfinances.account.dto.MonthlySummaryDTO;
 import com.myfinances.account.service.ReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -74,7 +77,20 @@ public class ReportController {
     @GetMapping("/monthly-comparison")
     public ResponseEntity<List<MonthlySummaryDTO>> getMonthlyComparison(
             @RequestHeader("X-User-Id") UUID userId,
-            @RequestParam(defaultValue = "6") int months) {
-        return ResponseEntity.ok(reportService.getMonthlyComparison(userId, months));
+            @RequestParam(defaultValue = "6") int months,
+            @RequestParam(defaultValue = "false") boolean parallel) {
+        return ResponseEntity.ok(reportService.getMonthlyComparison(userId, months, parallel));
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtener la serie de flujo de caja (ingresos, gastos y neto) por día, semana o mes
+     */
+    @GetMapping("/cashflow")
+    public ResponseEntity<CashflowDTO> getCashflow(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        return ResponseEntity.ok(reportService.getCashflow(userId, from, to, granularity));
+    }
+}
@@ -1,15 +1,24 @@
 package com.myfinances.account.controller;
 
 import com.myfinances.account.dto.*;
+import com.myfinances.account.exception.BadRequestException;
 import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.service.TransactionBatchService;
+import com.myfinances.account.service.TransactionExportService;
+import com.myfinances.account.service.TransactionImportService;
 import com.myfinances.account.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -23,6 +32,9 @@ import java.util.UUID;
 public class TransactionController {
 
     private final TransactionService service;
+    private final TransactionBatchService batchService;
+    private final TransactionExportService exportService;
+    private final TransactionImportService importService;
 
     /**
      * Crear una nueva transacción
@@ -37,11 +49,28 @@ public class TransactionController {
     }
 
     /**
-     * Obtener todas las transacciones
+     * Obtener las transacciones paginadas por cursor (más recientes primero)
+     * La siguiente página se pide con el nextCursor de la respuesta
      */
     @GetMapping
-    public ResponseEntity<List<TransactionResponseDTO>> getAll(@RequestHeader("X-User-Id") UUID userId) {
-        return ResponseEntity.ok(service.toResponseDTOList(service.findAll(userId)));
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> getAll(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(service.findPage(userId, cursor, size));
+    }
+
+    /**
+     * ⭐ Aplicar un lote de altas, modificaciones y bajas (todas o ninguna)
+     * Devuelve el resultado por operación; 400 si alguna es inválida
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResultDTO> batch(
+            @RequestHeader("X-User-Id") UUID userId,
+            @Valid @RequestBody BatchTransactionDTO request) {
+
+        BatchTransactionResultDTO result = batchService.apply(userId, request);
+        return ResponseEntity.status(result.isApplied() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
     }
 
     /**
@@ -82,31 +111,72 @@ public class TransactionController {
      * Obtener transacciones por tipo (INCOME/EXPENSE)
      */
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<TransactionResponseDTO>> getByType(
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> getByType(
             @RequestHeader("X-User-Id") UUID userId,
-            @PathVariable TransactionType type) {
-        return ResponseEntity.ok(service.toResponseDTOList(service.findByType(userId, type)));
+            @PathVariable TransactionType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(service.findPageByType(userId, type, cursor, size));
     }
 
     /**
      * Obtener transacciones por categoría
      */
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<TransactionResponseDTO>> getByCategory(
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> getByCategory(
             @RequestHeader("X-User-Id") UUID userId,
-            @PathVariable Long categoryId) {
-        return ResponseEntity.ok(service.toResponseDTOList(service.findByCategory(userId, categoryId)));
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(service.findPageByCategory(userId, categoryId, cursor, size));
     }
 
     /**
      * Obtener transacciones en un rango de fechas
      */
     @GetMapping("/date-range")
-    public ResponseEntity<List<TransactionResponseDTO>> getByDateRange(
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> getByDateRange(
             @RequestHeader("X-User-Id") UUID userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        return ResponseEntity.ok(service.toResponseDTOList(service.findByDateRange(userId, startDate, endDate)));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(service.findPageByDateRange(userId, startDate, endDate, cursor, size));
+    }
+
+    /**
+     * ⭐ Exportar el historial completo (NDJSON o CSV)
+     * Las filas se escriben a medida que se leen de la base de datos
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        TransactionExportService.Format exportFormat = TransactionExportService.Format.from(format);
+        StreamingResponseBody body = out -> exportService.export(userId, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * ⭐ Importar un extracto bancario CSV (cuerpo text/csv)
+     * Se procesa en streaming; si alguna fila es inválida no se importa nada
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportResultDTO> importCsv(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestParam(defaultValue = ",") String separator,
+            InputStream body) throws IOException {
+
+        if (separator.length() != 1) {
+            throw new BadRequestException("El separador debe ser un único carácter");
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(importService.importCsv(userId, body, separator.charAt(0)));
     }
 
     /**
@@ -117,7 +187,7 @@ public class TransactionController {
             @RequestHeader("X-User-Id") UUID userId,
             @RequestParam int year,
             @RequestParam int month) {
-        return ResponseEntity.ok(service.toResponseDTOList(service.findByMonth(userId, year, month)));
+        return ResponseEntity.ok(service.findByMonth(userId, year, month));
     }
 
     /**
@@ -125,17 +195,18 @@ public class TransactionController {
      */
     @GetMapping("/recent")
     public ResponseEntity<List<TransactionResponseDTO>> getRecentTransactions(@RequestHeader("X-User-Id") UUID userId) {
-        return ResponseEntity.ok(service.toResponseDTOList(service.findRecentTransactions(userId)));
+        return ResponseEntity.ok(service.findRecentTransactions(userId));
     }
 
     /**
-     * Buscar transacciones por descripción
+     * Buscar transacciones por descripción y notas (por relevancia, admite prefijos y errores de tipeo)
      */
     @GetMapping("/search")
     public ResponseEntity<List<TransactionResponseDTO>> searchByDescription(
             @RequestHeader("X-User-Id") UUID userId,
-            @RequestParam String keyword) {
-        return ResponseEntity.ok(service.toResponseDTOList(service.searchByDescription(userId, keyword)));
+            @RequestParam String keyword,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.searchByDescription(userId, keyword, limit));
     }
 
     /**
@@ -0,0 +1,52 @@
+package com.myfinances.account.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * ⭐ Lote de operaciones sobre transacciones (sincronización offline)
+ * Se aplican todas o ninguna
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionDTO {
+
+    public static final int MAX_OPERATIONS = 500;
+
+    @NotEmpty(message = "El lote debe incluir al menos una operación")
+    @Size(max = MAX_OPERATIONS, message = "El lote no puede exceder las " + MAX_OPERATIONS + " operaciones")
+    private List<@Valid @NotNull Operation> operations;
+
+    public enum OperationType {
+        CREATE, UPDATE, DELETE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+
+        @NotNull(message = "El tipo de operación es obligatorio")
+        private OperationType op;
+
+        private Long id; // UPDATE y DELETE
+
+        @Size(max = 100, message = "La referencia del cliente no puede exceder los 100 caracteres")
+        private String clientRef; // Opcional: se devuelve tal cual en el resultado
+
+        @Valid
+        private CreateTransactionDTO create; // CREATE
+
+        @Valid
+        private UpdateTransactionDTO update; // UPDATE
+    }
+}
@@ -0,0 +1,45 @@
+package com.myfinances.account.dto;
+
+import com.myfinances.account.dto.BatchTransactionDTO.OperationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado por operación de un lote
+ * applied = FALSE si alguna operación falló: en ese caso no se aplicó ninguna
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionResultDTO {
+
+    private boolean applied;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results;
+
+    public enum Status {
+        OK,      // Aplicada
+        ERROR,   // Inválida
+        SKIPPED  // Válida, pero no aplicada porque otra operación del lote falló
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private String clientRef;
+        private OperationType op;
+        private Status status;
+        private Long id;
+        private TransactionResponseDTO transaction; // NULL en DELETE y en errores
+        private String error;
+    }
+}
@@ -0,0 +1,81 @@
+package com.myfinances.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Serie de flujo de caja (ingresos, gastos y neto) por día, semana o mes
+ * La serie es densa: incluye los períodos sin movimientos con montos en cero
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashflowDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Granularity granularity;
+
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal net;
+
+    private List<Point> points;
+    private LocalDateTime calculatedAt;
+
+    /**
+     * Totales de un período [periodStart, periodEnd] (el primero y el último pueden ser parciales)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDate periodStart;
+        private LocalDate periodEnd;
+        private BigDecimal income;
+        private BigDecimal expense;
+        private BigDecimal net;
+    }
+
+    /**
+     * Tamaño de los períodos (semanas ISO: de lunes a domingo)
+     */
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        /**
+         * Primer día del período que contiene la fecha
+         */
+        public LocalDate align(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        /**
+         * Primer día del período siguiente a uno alineado
+         */
+        public LocalDate next(LocalDate periodStart) {
+            return switch (this) {
+                case DAY -> periodStart.plusDays(1);
+                case WEEK -> periodStart.plusWeeks(1);
+                case MONTH -> periodStart.plusMonths(1);
+            };
+        }
+    }
+}
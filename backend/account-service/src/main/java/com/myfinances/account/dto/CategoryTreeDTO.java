@@ -0,0 +1,37 @@
+package com.myfinances.account.dto;
+
+import com.myfinances.account.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nodo del árbol de categorías de un usuario
+ * Los campos subtree* suman la categoría y todas sus descendientes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTreeDTO {
+
+    private Long id;
+    private String name;
+    private TransactionType type;
+    private Long parentId;
+    private String description;
+
+    // Campos calculados
+    private Long transactionCount;
+    private BigDecimal totalAmount;
+    private Long subtreeTransactionCount;
+    private BigDecimal subtreeTotalAmount;
+
+    @Builder.Default
+    private List<CategoryTreeDTO> children = new ArrayList<>();
+}
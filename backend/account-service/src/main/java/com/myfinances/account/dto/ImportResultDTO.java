@@ -0,0 +1,29 @@
+package com.myfinances.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de una importación masiva de transacciones
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+
+    private long imported;
+    private long incomeCount;
+    private long expenseCount;
+
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+
+    private LocalDateTime firstDate;
+    private LocalDateTime lastDate;
+}
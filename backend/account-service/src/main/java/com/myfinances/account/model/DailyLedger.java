@@ -0,0 +1,42 @@
+package com.myfinances.account.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Libro diario acumulado: ingresos y gastos totales de un usuario desde el inicio hasta el fin de cada día
+ * Solo hay fila para los días con movimientos; el acumulado de un día sin fila es el de la fila anterior
+ */
+@Entity
+@Data
+@Table(name = "daily_ledger", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ledger_user_day", columnNames = {"user_id", "ledger_day"})
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "ledger_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "cumulative_income", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cumulativeIncome;
+
+    @Column(name = "cumulative_expense", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cumulativeExpense;
+}
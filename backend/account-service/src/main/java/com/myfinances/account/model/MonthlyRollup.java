@@ -0,0 +1,69 @@
+package com.myfinances.account.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Totales mensuales pre-agregados por usuario, tipo y categoría
+ * Se mantienen incrementalmente desde TransactionService
+ */
+@Entity
+@Data
+@Table(name = "monthly_rollups", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "period_year", "period_month", "type", "category_id"})
+}, indexes = {
+        @Index(name = "idx_rollup_user_period", columnList = "user_id, period_year, period_month")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+
+    /**
+     * Valor de category_id para el grupo "sin categoría" (los IDs de categoría empiezan en 1)
+     */
+    public static final long NO_CATEGORY = 0L;
+
+    /**
+     * Clave de categoría de un grupo: el ID, o NO_CATEGORY si la transacción no tiene
+     */
+    public static Long categoryKey(Long categoryId) {
+        return categoryId != null ? categoryId : NO_CATEGORY;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "period_year", nullable = false)
+    private int year;
+
+    @Column(name = "period_month", nullable = false)
+    private int month;
+
+    @Column(nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    /**
+     * NO_CATEGORY para transacciones sin categoría: con NULL la clave única no impediría filas duplicadas
+     * (Postgres considera distintos a dos NULL)
+     */
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+}
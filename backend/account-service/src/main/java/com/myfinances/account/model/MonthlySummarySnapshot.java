@@ -0,0 +1,50 @@
+package com.myfinances.account.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resumen mensual precalculado (MonthlySummaryDTO en JSON) de un mes cerrado
+ * Una edición que toque ese mes lo marca como desactualizado y se recalcula en la próxima lectura
+ */
+@Entity
+@Data
+@Table(name = "monthly_summary_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_snapshot_user_period", columnNames = {"user_id", "period_year", "period_month"})
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlySummarySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "period_year", nullable = false)
+    private int year;
+
+    @Column(name = "period_month", nullable = false)
+    private int month;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private boolean stale;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
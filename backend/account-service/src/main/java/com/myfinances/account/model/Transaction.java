@@ -18,7 +18,9 @@ import java.util.UUID;
 @Table(name = "transactions", indexes = {
         @Index(name = "idx_user_id", columnList = "user_id"),
         @Index(name = "idx_user_date", columnList = "user_id, date"),
-        @Index(name = "idx_user_type", columnList = "user_id, type")
+        @Index(name = "idx_user_type", columnList = "user_id, type"),
+        @Index(name = "idx_user_type_date", columnList = "user_id, type, date"),
+        @Index(name = "idx_user_category_date", columnList = "user_id, category_id, date")
 })
 @NoArgsConstructor
 @AllArgsConstructor
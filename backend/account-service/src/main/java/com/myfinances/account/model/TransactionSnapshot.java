@@ -0,0 +1,28 @@
+package com.myfinances.account.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Copia inmutable de los campos de una transacción que alimentan los agregados
+ * Permite conocer los valores previos a una actualización
+ */
+public record TransactionSnapshot(
+        UUID userId,
+        TransactionType type,
+        Long categoryId,
+        BigDecimal amount,
+        LocalDateTime date
+) {
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getUserId(),
+                transaction.getType(),
+                transaction.getCategory() != null ? transaction.getCategory().getId() : null,
+                transaction.getAmount(),
+                transaction.getDate()
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.myfinances.account.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Balance histórico acumulado de un usuario (una fila por usuario)
+ * Se mantiene incrementalmente en la misma transacción que cada escritura de transacciones
+ */
+@Entity
+@Data
+@Table(name = "user_balances")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBalance {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "total_income", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalIncome;
+
+    @Column(name = "total_expense", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalExpense;
+
+    @Column(name = "income_count", nullable = false)
+    private long incomeCount;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+
+    /**
+     * Se incrementa en cada cambio (incremental o reparación)
+     */
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.myfinances.account.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Timezone con el que están armados los agregados mensuales persistidos de un usuario (una fila por usuario)
+ * Es el último timezone conocido: si user-service no responde se sigue usando este, no el default
+ */
+@Entity
+@Data
+@Table(name = "user_timezones", indexes = {
+        @Index(name = "idx_user_timezones_zone", columnList = "zone, user_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserTimezone {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false, length = 64)
+    private String zone;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
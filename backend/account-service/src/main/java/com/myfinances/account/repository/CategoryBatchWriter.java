@@ -0,0 +1,68 @@
+package com.myfinances.account.repository;
+
+import com.myfinances.account.model.CategoryType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ⭐ INSERT de categorías por lotes JDBC (un round trip por lote)
+ * CategoryType usa IDENTITY, lo que impide que Hibernate agrupe los INSERT
+ * Participa de la transacción Spring en curso
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO category_types " +
+            "(user_id, name, type, parent_id, is_system, description) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta las categorías y asigna a cada una el ID generado por la base
+     */
+    public void insertAllReturningIds(List<CategoryType> categories) {
+        if (categories.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CategoryType category = categories.get(i);
+                ps.setObject(1, category.getUserId());
+                ps.setString(2, category.getName());
+                ps.setString(3, category.getType().name());
+                if (category.getParentId() != null) {
+                    ps.setLong(4, category.getParentId());
+                } else {
+                    ps.setNull(4, Types.BIGINT);
+                }
+                ps.setBoolean(5, Boolean.TRUE.equals(category.getIsSystem()));
+                ps.setString(6, category.getDescription());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return categories.size();
+            }
+        }, keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < categories.size(); i++) {
+            categories.get(i).setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
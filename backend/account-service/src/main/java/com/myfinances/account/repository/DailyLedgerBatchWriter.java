@@ -0,0 +1,52 @@
+package com.myfinances.account.repository;
+
+import com.myfinances.account.model.DailyLedger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * ⭐ INSERT de filas del libro diario por lotes JDBC (un round trip por lote)
+ * DailyLedger usa IDENTITY, lo que impide que Hibernate agrupe los INSERT
+ * Participa de la transacción Spring en curso
+ */
+@Repository
+@RequiredArgsConstructor
+public class DailyLedgerBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO daily_ledger " +
+            "(user_id, ledger_day, cumulative_income, cumulative_expense) " +
+            "VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta las filas sin recuperar los IDs generados
+     */
+    public void insertAll(List<DailyLedger> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                DailyLedger row = rows.get(i);
+                ps.setObject(1, row.getUserId());
+                ps.setObject(2, row.getDay());
+                ps.setBigDecimal(3, row.getCumulativeIncome());
+                ps.setBigDecimal(4, row.getCumulativeExpense());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+}
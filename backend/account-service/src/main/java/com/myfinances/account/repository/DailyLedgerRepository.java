@@ -0,0 +1,65 @@
+package com.myfinances.account.repository;
+
+import com.myfinances.account.model.DailyLedger;
+import com.myfinances.account.repository.projection.LedgerDayView;
+import com.myfinances.account.repository.projection.LedgerTotalsView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailyLedgerRepository extends JpaRepository<DailyLedger, Long> {
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Acumulado al cierre de un día: la última fila en o antes de ese día (búsqueda por índice)
+     * Devuelve valores, no entidades, para no leer copias desactualizadas tras un UPDATE masivo
+     */
+    @Query("SELECT l.cumulativeIncome AS income, l.cumulativeExpense AS expense FROM DailyLedger l " +
+            "WHERE l.userId = :userId AND l.day <= :day ORDER BY l.day DESC")
+    List<LedgerTotalsView> findTotalsAsOf(@Param("userId") UUID userId, @Param("day") LocalDate day, Limit limit);
+
+    boolean existsByUserId(UUID userId);
+
+    /**
+     * Acumulados guardados del usuario, día por día (para la reconciliación)
+     */
+    @Query("SELECT l.day AS day, l.cumulativeIncome AS income, l.cumulativeExpense AS expense FROM DailyLedger l " +
+            "WHERE l.userId = :userId ORDER BY l.day")
+    List<LedgerDayView> findDaysByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT DISTINCT l.userId FROM DailyLedger l")
+    List<UUID> findDistinctUserIds();
+
+    boolean existsByUserIdAndDay(UUID userId, LocalDate day);
+
+    // ==================== MANTENIMIENTO INCREMENTAL ====================
+
+    /**
+     * Suma un delta al acumulado de ese día y de todos los posteriores
+     */
+    @Modifying
+    @Query("UPDATE DailyLedger l SET l.cumulativeIncome = l.cumulativeIncome + :income, " +
+            "l.cumulativeExpense = l.cumulativeExpense + :expense WHERE l.userId = :userId AND l.day >= :day")
+    int addFrom(
+            @Param("userId") UUID userId,
+            @Param("day") LocalDate day,
+            @Param("income") BigDecimal income,
+            @Param("expense") BigDecimal expense
+    );
+
+    // ==================== ELIMINACIÓN ====================
+
+    @Modifying
+    @Query("DELETE FROM DailyLedger l WHERE l.userId = :userId")
+    void deleteByUserId(@Param("userId") UUID userId);
+}
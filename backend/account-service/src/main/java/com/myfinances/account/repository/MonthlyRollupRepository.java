@@ -0,0 +1,116 @@
+package com.myfinances.account.repository;
+
+import com.myfinances.account.model.MonthlyRollup;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.projection.CategoryAmountView;
+import com.myfinances.account.repository.projection.CategoryTotalView;
+import com.myfinances.account.repository.projection.MonthlyCategoryTotalView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    // ==================== MANTENIMIENTO INCREMENTAL ====================
+
+    /**
+     * Suma un delta a la fila (usuario, mes, tipo, categoría)
+     * Devuelve 0 si la fila todavía no existe
+     */
+    @Modifying
+    @Query("UPDATE MonthlyRollup r SET r.total = r.total + :amount, r.transactionCount = r.transactionCount + :count " +
+            "WHERE r.userId = :userId AND r.year = :year AND r.month = :month AND r.type = :type " +
+            "AND r.categoryId = :categoryId")
+    int increment(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("type") TransactionType type,
+            @Param("categoryId") Long categoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    /**
+     * Crea la fila (usuario, mes, tipo, categoría) con los valores dados si todavía no existe
+     * Devuelve 0 si ya existía (o la insertó una transacción concurrente): hay que sumar con increment
+     * Con ON CONFLICT la escritura concurrente espera en lugar de fallar por la clave única
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups " +
+            "(user_id, period_year, period_month, type, category_id, total, transaction_count) " +
+            "VALUES (:userId, :year, :month, :type, :categoryId, :amount, :count) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("type") String type,
+            @Param("categoryId") Long categoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Totales por categoría y tipo de un mes, con el nombre actual de la categoría
+     * El grupo sin categoría (NO_CATEGORY) se devuelve con categoryId NULL
+     */
+    @Query("SELECT NULLIF(r.categoryId, 0) AS categoryId, c.name AS categoryName, r.type AS type, r.total AS total, r.transactionCount AS count " +
+            "FROM MonthlyRollup r LEFT JOIN CategoryType c ON c.id = r.categoryId " +
+            "WHERE r.userId = :userId AND r.year = :year AND r.month = :month AND r.transactionCount > 0")
+    List<CategoryTotalView> findTotalsForMonth(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month
+    );
+
+    /**
+     * Totales por mes, categoría y tipo de una ventana de meses [desde, hasta]
+     */
+    @Query("SELECT r.year AS year, r.month AS month, NULLIF(r.categoryId, 0) AS categoryId, c.name AS categoryName, r.type AS type, " +
+            "r.total AS total, r.transactionCount AS count " +
+            "FROM MonthlyRollup r LEFT JOIN CategoryType c ON c.id = r.categoryId " +
+            "WHERE r.userId = :userId AND r.transactionCount > 0 " +
+            "AND (r.year > :fromYear OR (r.year = :fromYear AND r.month >= :fromMonth)) " +
+            "AND (r.year < :toYear OR (r.year = :toYear AND r.month <= :toMonth))")
+    List<MonthlyCategoryTotalView> findTotalsForPeriod(
+            @Param("userId") UUID userId,
+            @Param("fromYear") int fromYear,
+            @Param("fromMonth") int fromMonth,
+            @Param("toYear") int toYear,
+            @Param("toMonth") int toMonth
+    );
+
+    /**
+     * Totales históricos por categoría (todos los meses y tipos)
+     */
+    @Query("SELECT r.categoryId AS categoryId, SUM(r.total) AS total, SUM(r.transactionCount) AS count " +
+            "FROM MonthlyRollup r WHERE r.userId = :userId AND r.categoryId <> 0 " +
+            "GROUP BY r.categoryId")
+    List<CategoryAmountView> sumByCategory(@Param("userId") UUID userId);
+
+    boolean existsByUserId(UUID userId);
+
+    /**
+     * Todos los agregados de un usuario (reconciliación)
+     */
+    List<MonthlyRollup> findByUserId(UUID userId);
+
+    // ==================== ELIMINACIÓN ====================
+
+    /**
+     * Eliminar todos los agregados de un usuario
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.userId = :userId")
+    void deleteByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,54 @@
+package com.myfinances.account.repository;
+
+import com.myfinances.account.model.MonthlySummarySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MonthlySummarySnapshotRepository extends JpaRepository<MonthlySummarySnapshot, Long> {
+
+    Optional<MonthlySummarySnapshot> findByUserIdAndYearAndMonth(UUID userId, int year, int month);
+
+    /**
+     * Usuarios que ya tienen un resumen vigente del mes
+     */
+    @Query("SELECT s.userId FROM MonthlySummarySnapshot s WHERE s.year = :year AND s.month = :month AND s.stale = false")
+    List<UUID> findUserIdsWithFreshSnapshot(@Param("year") int year, @Param("month") int month);
+
+    /**
+     * Guarda el resumen de un mes si todavía no existe; devuelve 0 si otra transacción lo guardó primero
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summary_snapshots (user_id, period_year, period_month, payload, stale, computed_at) " +
+            "VALUES (:userId, :year, :month, :payload, FALSE, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("payload") String payload,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Marca como desactualizado el resumen de un mes (si existe)
+     */
+    @Modifying
+    @Query("UPDATE MonthlySummarySnapshot s SET s.stale = true " +
+            "WHERE s.userId = :userId AND s.year = :year AND s.month = :month AND s.stale = false")
+    int markStale(@Param("userId") UUID userId, @Param("year") int year, @Param("month") int month);
+
+    /**
+     * Marca como desactualizados todos los resúmenes de un usuario (p. ej. al renombrar una categoría)
+     */
+    @Modifying
+    @Query("UPDATE MonthlySummarySnapshot s SET s.stale = true WHERE s.userId = :userId AND s.stale = false")
+    int markAllStale(@Param("userId") UUID userId);
+}
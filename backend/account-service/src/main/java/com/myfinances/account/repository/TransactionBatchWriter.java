@@ -0,0 +1,88 @@
+package com.myfinances.account.repository;
+
+import com.myfinances.account.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ⭐ INSERT de transacciones por lotes JDBC (un round trip por lote)
+ * Transaction usa IDENTITY, lo que impide que Hibernate agrupe los INSERT
+ * Participa de la transacción Spring en curso
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions " +
+            "(user_id, description, amount, type, category_id, date, notes, linked_to_investment, investment_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta las transacciones sin recuperar los IDs generados
+     */
+    public void insertAll(List<Transaction> transactions) {
+        if (!transactions.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, setter(transactions));
+        }
+    }
+
+    /**
+     * Inserta las transacciones y asigna a cada una el ID generado por la base
+     */
+    public void insertAllReturningIds(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}), setter(transactions), keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < transactions.size(); i++) {
+            transactions.get(i).setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private BatchPreparedStatementSetter setter(List<Transaction> transactions) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Transaction transaction = transactions.get(i);
+                ps.setObject(1, transaction.getUserId());
+                ps.setString(2, transaction.getDescription());
+                ps.setBigDecimal(3, transaction.getAmount());
+                ps.setString(4, transaction.getType().name());
+                if (transaction.getCategory() != null) {
+                    ps.setLong(5, transaction.getCategory().getId());
+                } else {
+                    ps.setNull(5, Types.BIGINT);
+                }
+                ps.setObject(6, transaction.getDate());
+                ps.setString(7, transaction.getNotes());
+                ps.setBoolean(8, Boolean.TRUE.equals(transaction.getLinkedToInvestment()));
+                if (transaction.getInvestmentId() != null) {
+                    ps.setLong(9, transaction.getInvestmentId());
+                } else {
+                    ps.setNull(9, Types.BIGINT);
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return transactions.size();
+            }
+        };
+    }
+}
@@ -1,16 +1,29 @@
 package com.myfinances.account.repository;
 
+import com.myfinances.account.dto.TransactionResponseDTO;
 import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
 import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.projection.CategoryAmountView;
+import com.myfinances.account.repository.projection.CategoryTotalView;
+import com.myfinances.account.repository.projection.DailyTypeAmountView;
+import com.myfinances.account.repository.projection.TransactionTextView;
+import com.myfinances.account.repository.projection.TypeAmountView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -52,20 +65,96 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     List<Transaction> findByUserIdAndDescriptionContainingIgnoreCase(UUID userId, String description);
 
+    // ==================== LISTADOS (PROYECCIÓN A DTO) ====================
+    // Seleccionan directamente los campos de TransactionResponseDTO (incluido el nombre de la categoría)
+    // en una sola consulta: sin entidades administradas, snapshots de dirty-checking ni carga de categorías
+
+    String RESPONSE_DTO_SELECT = "SELECT new com.myfinances.account.dto.TransactionResponseDTO(" +
+            "t.id, t.description, t.amount, t.type, c.id, c.name, t.date, t.notes, t.linkedToInvestment, t.investmentId) " +
+            "FROM Transaction t LEFT JOIN t.category c ";
+
+    /**
+     * Buscar transacciones en un rango semiabierto [start, end)
+     * Predicado por rango para aprovechar idx_user_date (ver MonthBoundaries)
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE t.userId = :userId AND t.date >= :start AND t.date < :end ORDER BY t.date DESC")
+    List<TransactionResponseDTO> findByUserIdInRange(
+            @Param("userId") UUID userId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * Últimas transacciones de un usuario
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE t.userId = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findRecentByUserId(@Param("userId") UUID userId, Limit limit);
+
+    /**
+     * Transacciones de un usuario por IDs (resultados del índice de búsqueda, sin orden)
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE t.userId = :userId AND t.id IN :ids")
+    List<TransactionResponseDTO> findByUserIdAndIdIn(@Param("userId") UUID userId, @Param("ids") Collection<Long> ids);
+
+    // ==================== PAGINACIÓN POR CURSOR (KEYSET) ====================
+    // Orden (date DESC, id DESC); devuelven las filas posteriores al cursor (cursorDate, cursorId)
+    // El "t.date <= :cursorDate" redundante permite resolver el seek con el índice
+
+    /**
+     * Página de transacciones de un usuario
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE t.userId = :userId " +
+            "AND t.date <= :cursorDate AND (t.date < :cursorDate OR t.id < :cursorId) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findPageByUserId(
+            @Param("userId") UUID userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
     /**
-     * Buscar transacciones de un mes específico
+     * Página de transacciones por tipo
      */
-    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND YEAR(t.date) = :year AND MONTH(t.date) = :month ORDER BY t.date DESC")
-    List<Transaction> findByUserIdAndYearAndMonth(
+    @Query(RESPONSE_DTO_SELECT + "WHERE t.userId = :userId AND t.type = :type " +
+            "AND t.date <= :cursorDate AND (t.date < :cursorDate OR t.id < :cursorId) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findPageByUserIdAndType(
             @Param("userId") UUID userId,
-            @Param("year") int year,
-            @Param("month") int month
+            @Param("type") TransactionType type,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit
     );
 
     /**
-     * Últimas N transacciones de un usuario
+     * Página de transacciones por categoría
      */
-    List<Transaction> findTop10ByUserIdOrderByDateDesc(UUID userId);
+    @Query(RESPONSE_DTO_SELECT + "WHERE t.userId = :userId AND c.id = :categoryId " +
+            "AND t.date <= :cursorDate AND (t.date < :cursorDate OR t.id < :cursorId) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findPageByUserIdAndCategoryId(
+            @Param("userId") UUID userId,
+            @Param("categoryId") Long categoryId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    /**
+     * Página de transacciones en un rango de fechas [startDate, endDate]
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE t.userId = :userId AND t.date >= :startDate AND t.date <= :endDate " +
+            "AND t.date <= :cursorDate AND (t.date < :cursorDate OR t.id < :cursorId) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findPageByUserIdAndDateBetween(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
 
     // ==================== CÁLCULOS ====================
 
@@ -76,12 +165,23 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     BigDecimal sumByUserIdAndType(@Param("userId") UUID userId, @Param("type") TransactionType type);
 
     /**
-     * Calcular suma por tipo en un rango de fechas
+     * Sumas por tipo en el rango [startDate, endDate] (ambos extremos incluidos)
      */
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.userId = :userId AND t.type = :type AND t.date BETWEEN :startDate AND :endDate")
-    BigDecimal sumByUserIdAndTypeAndDateBetween(
+    @Query("SELECT t.type AS type, SUM(t.amount) AS total FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate GROUP BY t.type")
+    List<TypeAmountView> sumByTypeBetween(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    /**
+     * Sumas por tipo en el rango [startDate, endDate) (extremo final excluido)
+     */
+    @Query("SELECT t.type AS type, SUM(t.amount) AS total FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.date >= :startDate AND t.date < :endDate GROUP BY t.type")
+    List<TypeAmountView> sumByTypeFromUntil(
             @Param("userId") UUID userId,
-            @Param("type") TransactionType type,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate
     );
@@ -92,11 +192,97 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.userId = :userId AND t.category.id = :categoryId")
     BigDecimal sumByUserIdAndCategoryId(@Param("userId") UUID userId, @Param("categoryId") Long categoryId);
 
+    /**
+     * Contar transacciones de una categoría de un usuario
+     */
+    long countByUserIdAndCategoryId(UUID userId, Long categoryId);
+
     /**
      * Contar transacciones por tipo de un usuario
      */
     Long countByUserIdAndType(UUID userId, TransactionType type);
 
+    // ==================== AGREGADOS (GROUP BY) ====================
+
+    /**
+     * Totales y cantidades por categoría de un tipo (histórico completo)
+     */
+    @Query("SELECT c.id AS categoryId, c.name AS categoryName, t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count " +
+            "FROM Transaction t LEFT JOIN t.category c " +
+            "WHERE t.userId = :userId AND t.type = :type " +
+            "GROUP BY c.id, c.name, t.type")
+    List<CategoryTotalView> sumByCategoryForType(@Param("userId") UUID userId, @Param("type") TransactionType type);
+
+    /**
+     * Cantidad y suma por categoría de un conjunto de categorías del usuario
+     */
+    @Query("SELECT t.category.id AS categoryId, SUM(t.amount) AS total, COUNT(t) AS count " +
+            "FROM Transaction t WHERE t.userId = :userId AND t.category.id IN :categoryIds " +
+            "GROUP BY t.category.id")
+    List<CategoryAmountView> sumByCategoryIds(
+            @Param("userId") UUID userId,
+            @Param("categoryIds") Collection<Long> categoryIds
+    );
+
+    /**
+     * Recorre los campos agregables de todas las transacciones de un usuario
+     * Usado para reconstruir monthly_rollups (el mes depende del timezone del usuario)
+     */
+    @Query("SELECT new com.myfinances.account.model.TransactionSnapshot(t.userId, t.type, c.id, t.amount, t.date) " +
+            "FROM Transaction t LEFT JOIN t.category c WHERE t.userId = :userId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TransactionSnapshot> streamSnapshotsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Recorre todas las transacciones de un usuario en orden cronológico (exportación)
+     * Fetch size acotado: el driver trae las filas por bloques en lugar de materializar el resultado
+     */
+    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.category WHERE t.userId = :userId ORDER BY t.date, t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Transaction> streamByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Recorre los campos de texto de las transacciones de un usuario (construcción del índice de búsqueda)
+     */
+    @Query("SELECT t.id AS id, t.description AS description, t.notes AS notes, t.date AS date " +
+            "FROM Transaction t WHERE t.userId = :userId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TransactionTextView> streamTextByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Sumas por día calendario y tipo de todo el historial de un usuario (reconstrucción del libro diario)
+     */
+    @Query("SELECT CAST(t.date AS LocalDate) AS day, t.type AS type, SUM(t.amount) AS total " +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "GROUP BY CAST(t.date AS LocalDate), t.type ORDER BY CAST(t.date AS LocalDate)")
+    List<DailyTypeAmountView> sumByDayAndType(@Param("userId") UUID userId);
+
+    /**
+     * Sumas por día del usuario y tipo en el rango [start, end) (series de flujo de caja)
+     * El día sale de desplazar la fecha guardada shiftSeconds (offset del usuario menos offset de almacenamiento):
+     * el rango no debe cruzar un cambio de offset de ninguno de los dos timezones (ver MonthBoundaries.dayShifts)
+     * La tabla derivada evita repetir el parámetro en el GROUP BY (PostgreSQL no los reconoce como la misma expresión)
+     */
+    @Query("SELECT s.localDay AS day, s.type AS type, SUM(s.amount) AS total FROM (" +
+            "SELECT CAST(t.date + (:shiftSeconds) second AS LocalDate) AS localDay, t.type AS type, t.amount AS amount " +
+            "FROM Transaction t WHERE t.userId = :userId AND t.date >= :start AND t.date < :end) s " +
+            "GROUP BY s.localDay, s.type")
+    List<DailyTypeAmountView> sumByShiftedDayAndType(
+            @Param("userId") UUID userId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("shiftSeconds") long shiftSeconds
+    );
+
+    /**
+     * Usuarios con al menos una transacción
+     */
+    @Query("SELECT DISTINCT t.userId FROM Transaction t")
+    List<UUID> findDistinctUserIds();
+
     // ==================== ELIMINACIÓN ====================
 
     /**
@@ -0,0 +1,65 @@
+package com.myfinances.account.repository;
+
+import com.myfinances.account.model.UserBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserBalanceRepository extends JpaRepository<UserBalance, UUID> {
+
+    /**
+     * Suma los deltas al balance del usuario en un solo UPDATE atómico
+     * Devuelve 0 si la fila todavía no existe
+     */
+    @Modifying
+    @Query("UPDATE UserBalance b SET b.totalIncome = b.totalIncome + :income, b.totalExpense = b.totalExpense + :expense, " +
+            "b.incomeCount = b.incomeCount + :incomeCount, b.expenseCount = b.expenseCount + :expenseCount, " +
+            "b.version = b.version + 1, b.updatedAt = :now WHERE b.userId = :userId")
+    int increment(
+            @Param("userId") UUID userId,
+            @Param("income") BigDecimal income,
+            @Param("expense") BigDecimal expense,
+            @Param("incomeCount") long incomeCount,
+            @Param("expenseCount") long expenseCount,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Crea la fila del usuario si todavía no existe; devuelve 0 si otra escritura concurrente la creó primero
+     * (en ese caso la que pierde suma su delta con increment)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_balances (user_id, total_income, total_expense, income_count, expense_count, version, updated_at) " +
+            "VALUES (:userId, :income, :expense, :incomeCount, :expenseCount, :version, :now) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(
+            @Param("userId") UUID userId,
+            @Param("income") BigDecimal income,
+            @Param("expense") BigDecimal expense,
+            @Param("incomeCount") long incomeCount,
+            @Param("expenseCount") long expenseCount,
+            @Param("version") long version,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Balance bloqueado para escritura: las escrituras concurrentes esperan a que termine la reconciliación
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM UserBalance b WHERE b.userId = :userId")
+    Optional<UserBalance> findForUpdate(@Param("userId") UUID userId);
+
+    @Query("SELECT b.userId FROM UserBalance b")
+    List<UUID> findAllUserIds();
+}
@@ -0,0 +1,43 @@
+package com.myfinances.account.repository;
+
+import com.myfinances.account.model.UserTimezone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserTimezoneRepository extends JpaRepository<UserTimezone, UUID> {
+
+    /**
+     * Timezone registrado del usuario (sin cargar la entidad en el contexto de persistencia)
+     */
+    @Query("SELECT z.zone FROM UserTimezone z WHERE z.userId = :userId")
+    Optional<String> findZone(@Param("userId") UUID userId);
+
+    /**
+     * Timezones registrados (uno por grupo de usuarios que cierran el mes a la vez)
+     */
+    @Query("SELECT DISTINCT z.zone FROM UserTimezone z")
+    List<String> findDistinctZones();
+
+    /**
+     * Usuarios con un timezone registrado dado
+     */
+    @Query("SELECT z.userId FROM UserTimezone z WHERE z.zone = :zone")
+    List<UUID> findUserIdsByZone(@Param("zone") String zone);
+
+    /**
+     * Registra el timezone si el usuario todavía no tiene uno (una escritura concurrente no falla por la clave)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timezones (user_id, zone, updated_at) VALUES (:userId, :zone, :now) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("zone") String zone, @Param("now") LocalDateTime now);
+}
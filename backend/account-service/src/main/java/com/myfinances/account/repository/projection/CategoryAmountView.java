@@ -0,0 +1,15 @@
+package com.myfinances.account.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de un GROUP BY por categoría (suma de montos y cantidad de transacciones)
+ */
+public interface CategoryAmountView {
+
+    Long getCategoryId();
+
+    BigDecimal getTotal();
+
+    Long getCount();
+}
@@ -0,0 +1,22 @@
+package com.myfinances.account.repository.projection;
+
+import com.myfinances.account.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de un GROUP BY por categoría y tipo
+ * categoryId / categoryName son NULL para transacciones sin categoría
+ */
+public interface CategoryTotalView {
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    TransactionType getType();
+
+    BigDecimal getTotal();
+
+    Long getCount();
+}
@@ -0,0 +1,18 @@
+package com.myfinances.account.repository.projection;
+
+import com.myfinances.account.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Proyección de un GROUP BY por día y tipo (suma de montos)
+ */
+public interface DailyTypeAmountView {
+
+    LocalDate getDay();
+
+    TransactionType getType();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,11 @@
+package com.myfinances.account.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Día del libro diario con sus acumulados
+ */
+public interface LedgerDayView extends LedgerTotalsView {
+
+    LocalDate getDay();
+}
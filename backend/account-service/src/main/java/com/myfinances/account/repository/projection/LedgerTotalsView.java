@@ -0,0 +1,13 @@
+package com.myfinances.account.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Acumulados de ingresos y gastos de una fila del libro diario
+ */
+public interface LedgerTotalsView {
+
+    BigDecimal getIncome();
+
+    BigDecimal getExpense();
+}
@@ -0,0 +1,11 @@
+package com.myfinances.account.repository.projection;
+
+/**
+ * Proyección de un GROUP BY por mes, categoría y tipo
+ */
+public interface MonthlyCategoryTotalView extends CategoryTotalView {
+
+    Integer getYear();
+
+    Integer getMonth();
+}
@@ -0,0 +1,17 @@
+package com.myfinances.account.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Campos de texto de una transacción usados por el índice de búsqueda
+ */
+public interface TransactionTextView {
+
+    Long getId();
+
+    String getDescription();
+
+    String getNotes();
+
+    LocalDateTime getDate();
+}
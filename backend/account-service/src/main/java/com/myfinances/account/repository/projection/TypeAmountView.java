@@ -0,0 +1,15 @@
+package com.myfinances.account.repository.projection;
+
+import com.myfinances.account.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de un GROUP BY por tipo (suma de montos)
+ */
+public interface TypeAmountView {
+
+    TransactionType getType();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,132 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.dto.CategorySummaryDTO;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.projection.CategoryTotalView;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ⭐ Agrupa montos por categoría en una sola pasada (totales, cantidades y porcentajes)
+ * Se alimenta con filas ya agrupadas por la base de datos (GROUP BY categoría, tipo)
+ */
+@Component
+public class CategoryAggregator {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Agrupa por tipo las filas ya agrupadas por categoría en la base de datos
+     */
+    public Map<TransactionType, Accumulator> aggregateByType(Iterable<? extends CategoryTotalView> rows) {
+        Map<TransactionType, Accumulator> byType = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TransactionType.values()) {
+            byType.put(type, new Accumulator());
+        }
+        for (CategoryTotalView row : rows) {
+            byType.get(row.getType()).add(row);
+        }
+        return byType;
+    }
+
+    /**
+     * Acumula las filas de un único tipo
+     */
+    public Accumulator aggregate(Iterable<? extends CategoryTotalView> rows) {
+        Accumulator accumulator = new Accumulator();
+        for (CategoryTotalView row : rows) {
+            accumulator.add(row);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Acumulador de totales por categoría
+     * Las transacciones sin categoría suman al total general pero no generan fila
+     */
+    public static final class Accumulator {
+
+        private final Map<Long, Bucket> buckets = new LinkedHashMap<>();
+        private BigDecimal grandTotal = BigDecimal.ZERO;
+        private long transactionCount;
+
+        private Accumulator() {
+        }
+
+        public Accumulator add(CategoryTotalView row) {
+            return add(row.getCategoryId(), row.getCategoryName(), row.getTotal(), row.getCount());
+        }
+
+        public Accumulator add(Long categoryId, String categoryName, BigDecimal amount, long count) {
+            grandTotal = grandTotal.add(amount);
+            transactionCount += count;
+
+            if (categoryId != null) {
+                Bucket bucket = buckets.computeIfAbsent(categoryId, id -> new Bucket(id, categoryName));
+                bucket.total = bucket.total.add(amount);
+                bucket.count += count;
+            }
+            return this;
+        }
+
+        public BigDecimal getGrandTotal() {
+            return grandTotal;
+        }
+
+        public long getTransactionCount() {
+            return transactionCount;
+        }
+
+        /**
+         * Resúmenes por categoría ordenados por monto descendente
+         */
+        public List<CategorySummaryDTO> toSummaries() {
+            boolean hasTotal = grandTotal.compareTo(BigDecimal.ZERO) > 0;
+            List<CategorySummaryDTO> summaries = new ArrayList<>(buckets.size());
+
+            for (Bucket bucket : buckets.values()) {
+                BigDecimal percentage = hasTotal
+                        ? bucket.total.divide(grandTotal, 4, RoundingMode.HALF_UP).multiply(ONE_HUNDRED)
+                        : BigDecimal.ZERO;
+
+                summaries.add(CategorySummaryDTO.builder()
+                        .categoryId(bucket.categoryId)
+                        .categoryName(bucket.categoryName)
+                        .totalAmount(bucket.total)
+                        .transactionCount(bucket.count)
+                        .percentage(percentage)
+                        .build());
+            }
+
+            summaries.sort(Comparator.comparing(CategorySummaryDTO::getTotalAmount).reversed());
+            return summaries;
+        }
+
+        public CategorySummaryDTO.CategorySummaryResponse toResponse() {
+            return CategorySummaryDTO.CategorySummaryResponse.builder()
+                    .categories(toSummaries())
+                    .grandTotal(grandTotal)
+                    .build();
+        }
+    }
+
+    private static final class Bucket {
+        private final Long categoryId;
+        private final String categoryName;
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count;
+
+        private Bucket(Long categoryId, String categoryName) {
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+        }
+    }
+}
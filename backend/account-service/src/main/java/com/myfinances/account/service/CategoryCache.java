@@ -0,0 +1,158 @@
+package com.myfinances.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * ⭐ Caché en memoria de las categorías de cada usuario (ID → categoría, nombre → ID)
+ *
+ * - Acotada por cantidad de usuarios: al superar el máximo se desalojan los menos usados
+ * - Guarda copias inmutables y entrega entidades nuevas (desvinculadas) en cada lectura
+ * - Las escrituras de categorías la invalidan, también después del commit para que
+ *   una lectura concurrente no deje datos previos a la transacción
+ *
+ * Métricas en actuator: cache.gets (hit/miss), cache.evictions, cache.size con cache=categories
+ */
+@Service
+public class CategoryCache {
+
+    public static final String CACHE_NAME = "categories";
+
+    /**
+     * Clave de las categorías del sistema (userId NULL)
+     */
+    private static final UUID SYSTEM_KEY = new UUID(0L, 0L);
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<UUID, UserCategories> categories;
+    private final SingleFlightLoader<UUID, UserCategories> loader;
+
+    public CategoryCache(
+            CategoryRepository categoryRepository,
+            MeterRegistry meterRegistry,
+            @Value("${account.category-cache.max-users:10000}") long maxUsers) {
+        this.categoryRepository = categoryRepository;
+        this.categories = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .recordStats()
+                .build();
+        this.loader = new SingleFlightLoader<>(categories);
+        CaffeineCacheMetrics.monitor(meterRegistry, categories, CACHE_NAME);
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Categoría por ID entre las del usuario y las del sistema
+     * Si no está en ninguna se consulta la base (puede ser de otro usuario: el llamador valida la pertenencia)
+     */
+    public Optional<CategoryType> findById(UUID userId, Long id) {
+        CachedCategory category = forKey(userId).byId.get(id);
+        if (category == null) {
+            category = forKey(SYSTEM_KEY).byId.get(id);
+        }
+        if (category != null) {
+            return Optional.of(category.toEntity());
+        }
+        return categoryRepository.findById(id);
+    }
+
+    /**
+     * Categoría propia del usuario por nombre (sin distinguir mayúsculas)
+     */
+    public Optional<CategoryType> findByName(UUID userId, String name) {
+        UserCategories user = forKey(userId);
+        Long id = user.idByName.get(normalize(name));
+        return id != null ? Optional.of(user.byId.get(id).toEntity()) : Optional.empty();
+    }
+
+    /**
+     * Si el usuario ya tiene una categoría con ese nombre (sin distinguir mayúsculas)
+     */
+    public boolean existsByName(UUID userId, String name) {
+        return forKey(userId).idByName.containsKey(normalize(name));
+    }
+
+    // ==================== INVALIDACIÓN ====================
+
+    /**
+     * Descarta las categorías cacheadas del usuario (NULL = categorías del sistema)
+     */
+    public void invalidate(UUID userId) {
+        UUID key = userId != null ? userId : SYSTEM_KEY;
+        loader.afterLoad(key, () -> categories.invalidate(key));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    loader.afterLoad(key, () -> categories.invalidate(key));
+                }
+            });
+        }
+    }
+
+    // ==================== CARGA ====================
+
+    private UserCategories forKey(UUID userId) {
+        return loader.get(userId, this::load);
+    }
+
+    private UserCategories load(UUID key) {
+        List<CategoryType> rows = SYSTEM_KEY.equals(key)
+                ? categoryRepository.findByIsSystemTrue()
+                : categoryRepository.findByUserId(key);
+
+        Map<Long, CachedCategory> byId = new HashMap<>();
+        Map<String, Long> idByName = new HashMap<>();
+        for (CategoryType row : rows) {
+            byId.put(row.getId(), CachedCategory.of(row));
+            idByName.put(normalize(row.getName()), row.getId());
+        }
+        return new UserCategories(Map.copyOf(byId), Map.copyOf(idByName));
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record UserCategories(Map<Long, CachedCategory> byId, Map<String, Long> idByName) {
+    }
+
+    private record CachedCategory(Long id, UUID userId, String name, TransactionType type, Long parentId,
+                                  Boolean isSystem, String description) {
+
+        static CachedCategory of(CategoryType category) {
+            return new CachedCategory(category.getId(), category.getUserId(), category.getName(), category.getType(),
+                    category.getParentId(), category.getIsSystem(), category.getDescription());
+        }
+
+        CategoryType toEntity() {
+            return CategoryType.builder()
+                    .id(id)
+                    .userId(userId)
+                    .name(name)
+                    .type(type)
+                    .parentId(parentId)
+                    .isSystem(isSystem)
+                    .description(description)
+                    .build();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.myfinances.account.service;
 
 import com.myfinances.account.model.CategoryType;
 import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.CategoryBatchWriter;
 import com.myfinances.account.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,10 @@ import java.util.*;
 public class CategoryInitializationService implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+    private final UserDataVersionService dataVersions;
+    private final CategoryBatchWriter categoryBatchWriter;
+    private final SystemCategoryTemplates systemCategoryTemplates;
 
     /**
      * ⭐ Se ejecuta al iniciar la aplicación - Crea categorías del sistema si no existen
@@ -27,6 +32,7 @@ public class CategoryInitializationService implements CommandLineRunner {
     @Override
     public void run(String... args) {
         initializeSystemCategories();
+        systemCategoryTemplates.refresh();
     }
 
     /**
@@ -79,13 +85,16 @@ public class CategoryInitializationService implements CommandLineRunner {
         systemCategories.add(createSystemCategory("Entretenimiento", TransactionType.EXPENSE, null, "Ocio y entretenimiento"));
 
         categoryRepository.saveAll(systemCategories);
+        categoryCache.invalidate(null);
+        dataVersions.bump(null);
 
         log.info("✅ Categorías del sistema creadas: {}", systemCategories.size());
     }
 
     /**
      * 👤 Crea las categorías personales para un usuario nuevo
-     * Clona las categorías del sistema y las asigna al usuario
+     * Clona el árbol de templates del sistema (en memoria) y lo asigna al usuario
+     * ⭐ Un INSERT por lotes por nivel del árbol: los padres se resuelven con los IDs generados del nivel anterior
      */
     @Transactional
     public void initializeUserCategories(UUID userId) {
@@ -95,64 +104,51 @@ public class CategoryInitializationService implements CommandLineRunner {
             return;
         }
 
-        log.info("Inicializando categorías para usuario: {}", userId);
-
-        // Obtener todas las categorías del sistema
-        List<CategoryType> systemCategories = categoryRepository.findByIsSystemTrue();
-
-        if (systemCategories.isEmpty()) {
+        SystemCategoryTemplates.Tree templates = systemCategoryTemplates.get();
+        if (templates.roots().isEmpty()) {
             log.error("No hay categorías del sistema para clonar");
             return;
         }
 
-        // Map para mantener la relación entre IDs antiguos y nuevos
-        Map<Long, Long> oldIdToNewId = new HashMap<>();
-
-        // Primera pasada: crear categorías padre (parentId = null)
-        List<CategoryType> parentCategories = systemCategories.stream()
-                .filter(cat -> cat.getParentId() == null)
-                .toList();
-
-        for (CategoryType systemCat : parentCategories) {
-            CategoryType userCat = CategoryType.builder()
-                    .userId(userId)
-                    .name(systemCat.getName())
-                    .type(systemCat.getType())
-                    .parentId(null)
-                    .isSystem(false)
-                    .description(systemCat.getDescription())
-                    .build();
-
-            userCat = categoryRepository.save(userCat);
-            oldIdToNewId.put(systemCat.getId(), userCat.getId());
-        }
-
-        // Segunda pasada: crear subcategorías (parentId != null)
-        List<CategoryType> childCategories = systemCategories.stream()
-                .filter(cat -> cat.getParentId() != null)
-                .toList();
-
-        for (CategoryType systemCat : childCategories) {
-            Long newParentId = oldIdToNewId.get(systemCat.getParentId());
+        log.info("Inicializando categorías para usuario: {}", userId);
 
-            if (newParentId == null) {
-                log.error("No se encontró el nuevo ID para el padre: {}", systemCat.getParentId());
-                continue;
+        // Nivel actual: templates y el ID del padre ya insertado de cada uno (NULL en las raíces)
+        List<SystemCategoryTemplates.Template> level = templates.roots();
+        List<Long> parentIds = Collections.nCopies(level.size(), null);
+
+        int totalCreated = 0;
+        while (!level.isEmpty()) {
+            List<CategoryType> userCategories = new ArrayList<>(level.size());
+            for (int i = 0; i < level.size(); i++) {
+                SystemCategoryTemplates.Template template = level.get(i);
+                userCategories.add(CategoryType.builder()
+                        .userId(userId)
+                        .name(template.name())
+                        .type(template.type())
+                        .parentId(parentIds.get(i))
+                        .isSystem(false)
+                        .description(template.description())
+                        .build());
             }
 
-            CategoryType userCat = CategoryType.builder()
-                    .userId(userId)
-                    .name(systemCat.getName())
-                    .type(systemCat.getType())
-                    .parentId(newParentId)
-                    .isSystem(false)
-                    .description(systemCat.getDescription())
-                    .build();
+            categoryBatchWriter.insertAllReturningIds(userCategories);
+            totalCreated += userCategories.size();
 
-            categoryRepository.save(userCat);
+            List<SystemCategoryTemplates.Template> nextLevel = new ArrayList<>();
+            List<Long> nextParentIds = new ArrayList<>();
+            for (int i = 0; i < level.size(); i++) {
+                for (SystemCategoryTemplates.Template child : level.get(i).children()) {
+                    nextLevel.add(child);
+                    nextParentIds.add(userCategories.get(i).getId());
+                }
+            }
+            level = nextLevel;
+            parentIds = nextParentIds;
         }
 
-        long totalCreated = categoryRepository.countByUserId(userId);
+        categoryCache.invalidate(userId);
+        dataVersions.bump(userId);
+
         log.info("✅ Categorías creadas para usuario {}: {}", userId, totalCreated);
     }
 
@@ -4,16 +4,25 @@ import com.myfinances.account.dto.*;
 import com.myfinances.account.exception.BadRequestException;
 import com.myfinances.account.exception.ResourceNotFoundException;
 import com.myfinances.account.model.CategoryType;
-import com.myfinances.account.model.Transaction;
 import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.repository.MonthlySummarySnapshotRepository;
 import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.projection.CategoryAmountView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,20 +30,25 @@ import java.util.UUID;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+    private final MonthlySummarySnapshotRepository snapshotRepository;
+    private final UserDataVersionService dataVersions;
     private final TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final CategoryStatsProvider categoryStatsProvider;
 
     /**
      * ⭐ Crea una nueva categoría para un usuario
      */
     public CategoryType create(UUID userId, CreateCategoryDTO dto) {
         // Validar que no exista una categoría con ese nombre para el usuario
-        if (categoryRepository.existsByUserIdAndNameIgnoreCase(userId, dto.getName())) {
+        if (categoryCache.existsByName(userId, dto.getName())) {
             throw new BadRequestException("Ya tienes una categoría con el nombre: " + dto.getName());
         }
 
         // Si tiene parentId, validar que exista
         if (dto.getParentId() != null) {
-            CategoryType parent = categoryRepository.findById(dto.getParentId())
+            CategoryType parent = categoryCache.findById(userId, dto.getParentId())
                     .orElseThrow(() -> new ResourceNotFoundException("Categoría padre no encontrada"));
 
             // ⭐ Validar que la categoría padre pertenezca al usuario O sea del sistema
@@ -57,7 +71,10 @@ public class CategoryService {
                 .description(dto.getDescription())
                 .build();
 
-        return categoryRepository.save(category);
+        category = categoryRepository.save(category);
+        categoryCache.invalidate(userId);
+        dataVersions.bump(userId);
+        return category;
     }
 
     /**
@@ -76,6 +93,81 @@ public class CategoryService {
         return categoryRepository.findByUserIdAndParentIdIsNull(userId);
     }
 
+    /**
+     * ⭐ Árbol completo de categorías del usuario con totales por subárbol
+     * Una consulta para las categorías y otra (GROUP BY sobre monthly_rollups) para los totales
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryTreeDTO> getTree(UUID userId) {
+        Map<Long, CategoryAmountView> totals = monthlyRollupService.sumByCategory(userId).stream()
+                .collect(Collectors.toMap(CategoryAmountView::getCategoryId, Function.identity()));
+
+        Map<Long, CategoryTreeDTO> nodes = new LinkedHashMap<>();
+        for (CategoryType category : categoryRepository.findByUserId(userId)) {
+            CategoryAmountView total = totals.get(category.getId());
+            nodes.put(category.getId(), CategoryTreeDTO.builder()
+                    .id(category.getId())
+                    .name(category.getName())
+                    .type(category.getType())
+                    .parentId(category.getParentId())
+                    .description(category.getDescription())
+                    .transactionCount(total != null ? total.getCount() : 0L)
+                    .totalAmount(total != null ? total.getTotal() : BigDecimal.ZERO)
+                    .build());
+        }
+
+        // Raíces: sin padre o con padre fuera del conjunto del usuario (p. ej. una categoría del sistema)
+        List<CategoryTreeDTO> roots = new ArrayList<>();
+        for (CategoryTreeDTO node : nodes.values()) {
+            CategoryTreeDTO parent = node.getParentId() != null ? nodes.get(node.getParentId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+
+        Set<Long> visited = new HashSet<>();
+        roots.forEach(root -> accumulateSubtree(root, visited));
+
+        // Nodos inalcanzables desde las raíces forman un ciclo: se cortan y se muestran como raíces
+        for (CategoryTreeDTO node : nodes.values()) {
+            if (!visited.contains(node.getId())) {
+                nodes.get(node.getParentId()).getChildren().remove(node);
+                roots.add(node);
+                accumulateSubtree(node, visited);
+            }
+        }
+
+        sortByName(roots);
+        return roots;
+    }
+
+    /**
+     * Calcula los totales del subárbol (post-orden)
+     */
+    private void accumulateSubtree(CategoryTreeDTO node, Set<Long> visited) {
+        visited.add(node.getId());
+        long count = node.getTransactionCount();
+        BigDecimal amount = node.getTotalAmount();
+
+        for (CategoryTreeDTO child : node.getChildren()) {
+            if (!visited.contains(child.getId())) {
+                accumulateSubtree(child, visited);
+            }
+            count += child.getSubtreeTransactionCount() != null ? child.getSubtreeTransactionCount() : 0L;
+            amount = amount.add(child.getSubtreeTotalAmount() != null ? child.getSubtreeTotalAmount() : BigDecimal.ZERO);
+        }
+
+        node.setSubtreeTransactionCount(count);
+        node.setSubtreeTotalAmount(amount);
+    }
+
+    private void sortByName(List<CategoryTreeDTO> nodes) {
+        nodes.sort(Comparator.comparing(CategoryTreeDTO::getName, String.CASE_INSENSITIVE_ORDER));
+        nodes.forEach(node -> sortByName(node.getChildren()));
+    }
+
     /**
      * Obtiene subcategorías de una categoría padre
      */
@@ -89,7 +181,7 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public CategoryType findById(UUID userId, Long id) {
-        CategoryType category = categoryRepository.findById(id)
+        CategoryType category = categoryCache.findById(userId, id)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con ID: " + id));
 
         // ⭐ Validar que la categoría pertenezca al usuario (o sea del sistema)
@@ -105,7 +197,7 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public CategoryType findByName(UUID userId, String name) {
-        return categoryRepository.findByUserIdAndNameIgnoreCase(userId, name)
+        return categoryCache.findByName(userId, name)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con nombre: " + name));
     }
 
@@ -123,7 +215,7 @@ public class CategoryService {
         // Validar cambio de nombre
         if (dto.getName() != null) {
             if (!category.getName().equalsIgnoreCase(dto.getName()) &&
-                    categoryRepository.existsByUserIdAndNameIgnoreCase(userId, dto.getName())) {
+                    categoryCache.existsByName(userId, dto.getName())) {
                 throw new BadRequestException("Ya tienes una categoría con el nombre: " + dto.getName());
             }
             category.setName(dto.getName().toUpperCase());
@@ -149,7 +241,11 @@ public class CategoryService {
             category.setDescription(dto.getDescription());
         }
 
-        return categoryRepository.save(category);
+        category = categoryRepository.save(category);
+        categoryCache.invalidate(userId);
+        dataVersions.bump(userId);
+        snapshotRepository.markAllStale(userId); // Los resúmenes guardados incluyen el nombre de la categoría
+        return category;
     }
 
     /**
@@ -164,10 +260,10 @@ public class CategoryService {
         }
 
         // Verificar que no tenga transacciones asociadas
-        List<Transaction> transactions = transactionRepository.findByUserIdAndCategoryId(userId, id);
-        if (!transactions.isEmpty()) {
+        long transactionCount = transactionRepository.countByUserIdAndCategoryId(userId, id);
+        if (transactionCount > 0) {
             throw new BadRequestException("No puedes eliminar la categoría porque tiene " +
-                    transactions.size() + " transacciones asociadas");
+                    transactionCount + " transacciones asociadas");
         }
 
         // Verificar que no tenga subcategorías
@@ -178,6 +274,8 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        categoryCache.invalidate(userId);
+        dataVersions.bump(userId);
     }
 
     /**
@@ -196,37 +294,30 @@ public class CategoryService {
      * Convierte una entidad CategoryType a ResponseDTO con datos enriquecidos
      */
     public CategoryResponseDTO toResponseDTO(CategoryType category) {
-        // Si es categoría del sistema, userId será null
-        UUID userId = category.getUserId();
-
-        Long transactionCount = 0L;
-        BigDecimal totalAmount = BigDecimal.ZERO;
-
-        // Solo calcular si es una categoría de usuario (no del sistema)
-        if (userId != null) {
-            transactionCount = (long) transactionRepository
-                    .findByUserIdAndCategoryId(userId, category.getId()).size();
-            totalAmount = transactionRepository
-                    .sumByUserIdAndCategoryId(userId, category.getId());
-        }
-
-        return CategoryResponseDTO.builder()
-                .id(category.getId())
-                .name(category.getName())
-                .type(category.getType())
-                .parentId(category.getParentId())
-                .description(category.getDescription())
-                .transactionCount(transactionCount)
-                .totalAmount(totalAmount)
-                .build();
+        return toResponseDTO(category, categoryStatsProvider.statsFor(category));
     }
 
     /**
      * Convierte una lista de categorías a ResponseDTOs
+     * ⭐ Las estadísticas de todas las categorías salen de una sola consulta agrupada
      */
     public List<CategoryResponseDTO> toResponseDTOList(List<CategoryType> categories) {
+        Map<Long, CategoryStatsProvider.CategoryStats> stats = categoryStatsProvider.statsFor(categories);
         return categories.stream()
-                .map(this::toResponseDTO)
+                .map(category -> toResponseDTO(category,
+                        stats.getOrDefault(category.getId(), CategoryStatsProvider.CategoryStats.EMPTY)))
                 .toList();
     }
+
+    private CategoryResponseDTO toResponseDTO(CategoryType category, CategoryStatsProvider.CategoryStats stats) {
+        return CategoryResponseDTO.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .type(category.getType())
+                .parentId(category.getParentId())
+                .description(category.getDescription())
+                .transactionCount(stats.transactionCount())
+                .totalAmount(stats.totalAmount())
+                .build();
+    }
 }
\ No newline at end of file
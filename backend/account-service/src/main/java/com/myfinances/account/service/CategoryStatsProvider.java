@@ -0,0 +1,63 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.projection.CategoryAmountView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * ⭐ Cantidad y suma de transacciones por categoría
+ * Una consulta GROUP BY category_id por usuario, sin importar cuántas categorías se pidan
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CategoryStatsProvider {
+
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Estadísticas de una categoría
+     */
+    public record CategoryStats(long transactionCount, BigDecimal totalAmount) {
+
+        public static final CategoryStats EMPTY = new CategoryStats(0L, BigDecimal.ZERO);
+    }
+
+    /**
+     * Estadísticas por ID de categoría
+     * Solo se calculan para categorías de usuario; las del sistema quedan en EMPTY
+     */
+    public Map<Long, CategoryStats> statsFor(Collection<CategoryType> categories) {
+        Map<UUID, List<Long>> idsByUser = categories.stream()
+                .filter(category -> category.getUserId() != null)
+                .collect(Collectors.groupingBy(CategoryType::getUserId,
+                        Collectors.mapping(CategoryType::getId, Collectors.toList())));
+
+        Map<Long, CategoryStats> stats = new HashMap<>();
+        idsByUser.forEach((userId, ids) -> {
+            for (CategoryAmountView row : transactionRepository.sumByCategoryIds(userId, ids)) {
+                stats.put(row.getCategoryId(), new CategoryStats(row.getCount(), row.getTotal()));
+            }
+        });
+        return stats;
+    }
+
+    /**
+     * Estadísticas de una sola categoría
+     */
+    public CategoryStats statsFor(CategoryType category) {
+        return statsFor(List.of(category)).getOrDefault(category.getId(), CategoryStats.EMPTY);
+    }
+}
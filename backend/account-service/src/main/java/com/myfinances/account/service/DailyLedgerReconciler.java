@@ -0,0 +1,47 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.repository.DailyLedgerRepository;
+import com.myfinances.account.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 🔄 Verifica periódicamente daily_ledger contra transactions y reconstruye el libro de los usuarios desviados
+ * También construye el libro de los usuarios que todavía no lo tienen
+ * Cada usuario se reconcilia en su propia transacción (bloqueo corto por fila)
+ *
+ * Horario configurable con account.ledger.reconcile-cron ("-" lo desactiva)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyLedgerReconciler {
+
+    private final DailyLedgerService ledgerService;
+    private final DailyLedgerRepository ledgerRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Scheduled(cron = "${account.ledger.reconcile-cron:0 45 3 * * *}")
+    public void reconcileAll() {
+        Set<UUID> userIds = new LinkedHashSet<>(ledgerRepository.findDistinctUserIds());
+        userIds.addAll(transactionRepository.findDistinctUserIds());
+
+        int repaired = 0;
+        for (UUID userId : userIds) {
+            try {
+                if (ledgerService.reconcile(userId)) {
+                    repaired++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Error reconciliando libro diario de usuario {}", userId, e);
+            }
+        }
+        log.info("Reconciliación del libro diario: {} usuarios verificados, {} reparados", userIds.size(), repaired);
+    }
+}
@@ -0,0 +1,357 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.model.DailyLedger;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.DailyLedgerBatchWriter;
+import com.myfinances.account.repository.DailyLedgerRepository;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.projection.DailyTypeAmountView;
+import com.myfinances.account.repository.projection.LedgerDayView;
+import com.myfinances.account.repository.projection.LedgerTotalsView;
+import com.myfinances.account.repository.projection.TypeAmountView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * ⭐ Mantiene la tabla daily_ledger (usuario, día → ingresos y gastos acumulados hasta ese día)
+ *
+ * - El total de un rango de días completos son dos búsquedas puntuales y una resta
+ * - Los extremos que no caen en medianoche se corrigen con una suma acotada a ese único día
+ * - Una escritura suma su delta al día de la transacción y a todos los posteriores (un UPDATE)
+ * - Si el usuario todavía no tiene libro se construye desde transactions (ya incluye la escritura en curso)
+ * - Las escrituras de un mismo usuario se serializan con el bloqueo de su fila en user_balances:
+ *   crear la fila de un día y sumar desde ese día no es atómico
+ * - La lectura no escribe: sin libro todavía, el rango se suma directo sobre transactions
+ * - DailyLedgerReconciler verifica periódicamente contra transactions y repara desvíos
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DailyLedgerService implements ApplicationRunner {
+
+    /**
+     * Argumento de arranque para reconstruir el libro de todos los usuarios: --rebuild-ledger
+     */
+    public static final String REBUILD_OPTION = "rebuild-ledger";
+
+    /**
+     * Con más días afectados conviene reconstruir el libro que actualizar día por día
+     */
+    static final int REBUILD_THRESHOLD_DAYS = 31;
+
+    private final DailyLedgerRepository ledgerRepository;
+    private final DailyLedgerBatchWriter ledgerBatchWriter;
+    private final TransactionRepository transactionRepository;
+    private final UserBalanceService userBalanceService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            rebuildAll();
+        }
+    }
+
+    // ==================== MANTENIMIENTO INCREMENTAL ====================
+
+    /**
+     * Registra una transacción nueva
+     */
+    public void onCreated(Transaction transaction) {
+        PendingLedger pending = pending(transaction.getUserId());
+        pending.add(TransactionSnapshot.of(transaction));
+        applyPending(pending);
+    }
+
+    /**
+     * Mueve el monto si la transacción cambió de día, tipo o monto
+     */
+    public void onUpdated(TransactionSnapshot before, Transaction transaction) {
+        PendingLedger pending = pending(transaction.getUserId());
+        pending.remove(before);
+        pending.add(TransactionSnapshot.of(transaction));
+        applyPending(pending);
+    }
+
+    /**
+     * Descuenta una transacción eliminada
+     */
+    public void onDeleted(Transaction transaction) {
+        PendingLedger pending = pending(transaction.getUserId());
+        pending.remove(TransactionSnapshot.of(transaction));
+        applyPending(pending);
+    }
+
+    /**
+     * Aplica los deltas acumulados de una operación: un UPDATE por día afectado,
+     * o una reconstrucción si el usuario no tiene libro o los días afectados son muchos
+     * Corre con la fila del usuario bloqueada (después de UserBalanceService.applyPending)
+     */
+    public void applyPending(PendingLedger pending) {
+        pending.deltas.values().removeIf(Totals::isZero);
+        if (pending.deltas.isEmpty()) {
+            return;
+        }
+        userBalanceService.lock(pending.userId);
+        if (pending.deltas.size() > REBUILD_THRESHOLD_DAYS || !ledgerRepository.existsByUserId(pending.userId)) {
+            rebuild(pending.userId);
+            return;
+        }
+
+        pending.deltas.forEach((day, delta) -> {
+            ensureRow(pending.userId, day);
+            ledgerRepository.addFrom(pending.userId, day, delta.income(), delta.expense());
+        });
+    }
+
+    /**
+     * Crea la fila del día con el acumulado del día anterior con movimientos
+     */
+    private void ensureRow(UUID userId, LocalDate day) {
+        if (ledgerRepository.existsByUserIdAndDay(userId, day)) {
+            return;
+        }
+        Totals previous = totalsAsOf(userId, day.minusDays(1));
+        ledgerRepository.save(DailyLedger.builder()
+                .userId(userId)
+                .day(day)
+                .cumulativeIncome(previous.income())
+                .cumulativeExpense(previous.expense())
+                .build());
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Ingresos y gastos del rango [start, end] (ambos extremos incluidos)
+     * Un usuario sin libro (lo crea su próxima escritura o la reconciliación) se suma sobre transactions
+     */
+    @Transactional(readOnly = true)
+    public Totals totalsBetween(UUID userId, LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            return Totals.ZERO;
+        }
+        LocalDate startDay = start.toLocalDate();
+        LocalDate endDay = end.toLocalDate();
+        if (startDay.equals(endDay) || !ledgerRepository.existsByUserId(userId)) {
+            return Totals.of(transactionRepository.sumByTypeBetween(userId, start, end));
+        }
+
+        // Días completos (lowerDay, upperDay] por diferencia de acumulados
+        boolean startsAtMidnight = start.equals(startDay.atStartOfDay());
+        boolean endsAtEndOfDay = !end.isBefore(endDay.atTime(LocalTime.MAX));
+        LocalDate lowerDay = startsAtMidnight ? startDay.minusDays(1) : startDay;
+        LocalDate upperDay = endsAtEndOfDay ? endDay : endDay.minusDays(1);
+        Totals totals = totalsAsOf(userId, upperDay).subtract(totalsAsOf(userId, lowerDay));
+
+        // Extremos parciales: como mucho un día cada uno
+        if (!startsAtMidnight) {
+            totals = totals.add(Totals.of(transactionRepository.sumByTypeFromUntil(
+                    userId, start, startDay.plusDays(1).atStartOfDay())));
+        }
+        if (!endsAtEndOfDay) {
+            totals = totals.add(Totals.of(transactionRepository.sumByTypeBetween(
+                    userId, endDay.atStartOfDay(), end)));
+        }
+        return totals;
+    }
+
+    /**
+     * Acumulado al cierre del día (cero si no hay movimientos hasta ese día)
+     */
+    private Totals totalsAsOf(UUID userId, LocalDate day) {
+        List<LedgerTotalsView> rows = ledgerRepository.findTotalsAsOf(userId, day, Limit.of(1));
+        return rows.isEmpty() ? Totals.ZERO : new Totals(rows.get(0).getIncome(), rows.get(0).getExpense());
+    }
+
+    // ==================== RECONSTRUCCIÓN ====================
+
+    /**
+     * 🔄 Recalcula desde cero el libro de un usuario con una consulta agrupada por día
+     * Las filas se insertan por lotes JDBC: una importación de años de historial son miles de días
+     */
+    public void rebuild(UUID userId) {
+        ledgerRepository.deleteByUserId(userId);
+
+        List<DailyLedger> rows = expectedRows(userId);
+        ledgerBatchWriter.insertAll(rows);
+        log.info("Libro diario reconstruido para usuario {}: {} días", userId, rows.size());
+    }
+
+    /**
+     * Filas del libro calculadas desde transactions (una por día con movimientos)
+     */
+    private List<DailyLedger> expectedRows(UUID userId) {
+        List<DailyLedger> rows = new ArrayList<>();
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (DailyTypeAmountView group : transactionRepository.sumByDayAndType(userId)) {
+            if (group.getType() == TransactionType.INCOME) {
+                income = income.add(group.getTotal());
+            } else {
+                expense = expense.add(group.getTotal());
+            }
+
+            DailyLedger last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            if (last != null && last.getDay().equals(group.getDay())) {
+                last.setCumulativeIncome(income);
+                last.setCumulativeExpense(expense);
+            } else {
+                rows.add(DailyLedger.builder()
+                        .userId(userId)
+                        .day(group.getDay())
+                        .cumulativeIncome(income)
+                        .cumulativeExpense(expense)
+                        .build());
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 🔄 Recalcula el libro de todos los usuarios
+     */
+    public void rebuildAll() {
+        List<UUID> userIds = transactionRepository.findDistinctUserIds();
+        log.info("Reconstruyendo libro diario de {} usuarios...", userIds.size());
+
+        ledgerRepository.deleteAllInBatch();
+        userIds.forEach(this::rebuild);
+
+        log.info("✅ Libro diario reconstruido");
+    }
+
+    // ==================== RECONCILIACIÓN ====================
+
+    /**
+     * 🔄 Compara el libro guardado con transactions y lo reconstruye si hay diferencias
+     * Cada día con movimientos debe tener su fila, y cada fila el acumulado real a ese día
+     * (las filas de días que se quedaron sin movimientos son válidas)
+     * Devuelve true si hubo que reparar
+     */
+    public boolean reconcile(UUID userId) {
+        userBalanceService.lock(userId);
+
+        List<LedgerDayView> stored = ledgerRepository.findDaysByUserId(userId);
+        List<DailyLedger> expected = expectedRows(userId);
+        if (stored.isEmpty()) {
+            if (!expected.isEmpty()) {
+                rebuild(userId);
+            }
+            return false;
+        }
+
+        TreeMap<LocalDate, Totals> expectedByDay = new TreeMap<>();
+        expected.forEach(row -> expectedByDay.put(row.getDay(),
+                new Totals(row.getCumulativeIncome(), row.getCumulativeExpense())));
+        Set<LocalDate> storedDays = new HashSet<>();
+        LocalDate drifted = null;
+        for (LedgerDayView row : stored) {
+            storedDays.add(row.getDay());
+            Map.Entry<LocalDate, Totals> asOf = expectedByDay.floorEntry(row.getDay());
+            Totals real = asOf != null ? asOf.getValue() : Totals.ZERO;
+            if (drifted == null && !real.matches(new Totals(row.getIncome(), row.getExpense()))) {
+                drifted = row.getDay();
+            }
+        }
+        if (drifted == null) {
+            drifted = expectedByDay.keySet().stream().filter(day -> !storedDays.contains(day)).findFirst().orElse(null);
+        }
+        if (drifted == null) {
+            return false;
+        }
+
+        log.warn("Libro diario desviado para usuario {} desde el día {}: se reconstruye", userId, drifted);
+        rebuild(userId);
+        return true;
+    }
+
+    // ==================== ACUMULACIÓN EN MEMORIA ====================
+
+    /**
+     * Acumulador de deltas por día de un usuario aún no persistidos
+     */
+    public PendingLedger pending(UUID userId) {
+        return new PendingLedger(userId);
+    }
+
+    public static final class PendingLedger {
+
+        private final UUID userId;
+        private final Map<LocalDate, Totals> deltas = new TreeMap<>();
+
+        private PendingLedger(UUID userId) {
+            this.userId = userId;
+        }
+
+        public void add(TransactionSnapshot snapshot) {
+            deltas.merge(snapshot.date().toLocalDate(), Totals.of(snapshot), Totals::add);
+        }
+
+        public void remove(TransactionSnapshot snapshot) {
+            deltas.merge(snapshot.date().toLocalDate(), Totals.ZERO.subtract(Totals.of(snapshot)), Totals::add);
+        }
+    }
+
+    /**
+     * Par (ingresos, gastos)
+     */
+    public record Totals(BigDecimal income, BigDecimal expense) {
+
+        public static final Totals ZERO = new Totals(BigDecimal.ZERO, BigDecimal.ZERO);
+
+        static Totals of(TransactionSnapshot snapshot) {
+            return snapshot.type() == TransactionType.INCOME
+                    ? new Totals(snapshot.amount(), BigDecimal.ZERO)
+                    : new Totals(BigDecimal.ZERO, snapshot.amount());
+        }
+
+        static Totals of(List<TypeAmountView> groups) {
+            Totals totals = ZERO;
+            for (TypeAmountView group : groups) {
+                totals = totals.add(group.getType() == TransactionType.INCOME
+                        ? new Totals(group.getTotal(), BigDecimal.ZERO)
+                        : new Totals(BigDecimal.ZERO, group.getTotal()));
+            }
+            return totals;
+        }
+
+        Totals add(Totals other) {
+            return new Totals(income.add(other.income), expense.add(other.expense));
+        }
+
+        Totals subtract(Totals other) {
+            return new Totals(income.subtract(other.income), expense.subtract(other.expense));
+        }
+
+        /**
+         * Mismos montos sin importar la escala (100.0 y 100.00)
+         */
+        boolean matches(Totals other) {
+            return income.compareTo(other.income) == 0 && expense.compareTo(other.expense) == 0;
+        }
+
+        boolean isZero() {
+            return income.signum() == 0 && expense.signum() == 0;
+        }
+    }
+}
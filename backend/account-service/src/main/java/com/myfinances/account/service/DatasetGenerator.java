@@ -0,0 +1,278 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
+import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.repository.TransactionBatchWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * 🧪 Genera el historial sintético de un usuario (perfil "datagen")
+ *
+ * - Categorías clonadas de los templates del sistema, como un usuario recién registrado
+ * - Movimientos fijos (sueldo, aguinaldo, alquiler, servicios, seguro) y variables (supermercado, combustible,
+ *   salud, salidas) con estacionalidad: gas en invierno, luz en verano, vacaciones en enero y julio,
+ *   gastos escolares en marzo, compras de diciembre; los montos acompañan una inflación mensual constante
+ * - Los INSERT van por JDBC en lotes y los agregados se actualizan una vez al final, como en la importación
+ *
+ * Determinista: la misma semilla, índice de usuario y mes final generan exactamente los mismos datos
+ */
+@Service
+@Profile(DatasetGenerator.PROFILE)
+@RequiredArgsConstructor
+@Transactional
+public class DatasetGenerator {
+
+    public static final String PROFILE = "datagen";
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final double MONTHLY_INFLATION = 0.015;
+
+    private static final Map<String, String[]> MERCHANTS = Map.of(
+            "Supermercado", new String[]{"Coto", "Carrefour", "Día", "Jumbo", "Disco", "Almacén del barrio", "Verdulería"},
+            "Combustible Auto", new String[]{"YPF", "Shell", "Axion", "Puma"},
+            "Salud", new String[]{"Farmacia", "Consulta médica", "Odontólogo", "Análisis clínicos", "Óptica"},
+            "Entretenimiento", new String[]{"Cine", "Restaurante", "Streaming", "Recital", "Bar", "Libros", "Delivery"},
+            "Educación", new String[]{"Curso online", "Librería", "Cuota instituto", "Idiomas"}
+    );
+
+    private final CategoryInitializationService categoryInitializationService;
+    private final CategoryRepository categoryRepository;
+    private final TransactionBatchWriter batchWriter;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserBalanceService userBalanceService;
+    private final DailyLedgerService dailyLedgerService;
+    private final TransactionSearchIndex searchIndex;
+    private final UserDataVersionService dataVersions;
+
+    /**
+     * ID del usuario sintético número index para una semilla
+     * investment-service deriva los mismos IDs para que las inversiones correspondan a estos usuarios
+     */
+    public static UUID userId(long seed, int index) {
+        return UUID.nameUUIDFromBytes(("myfinances-datagen:" + seed + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Genera categorías y movimientos del usuario desde first hasta last (inclusive)
+     * Devuelve la cantidad de transacciones creadas, o -1 si el usuario ya tenía categorías
+     */
+    public long generateUser(UUID userId, long seed, int index, YearMonth first, YearMonth last, int variablePerMonth) {
+        if (categoryRepository.countByUserId(userId) > 0) {
+            return -1;
+        }
+        categoryInitializationService.initializeUserCategories(userId);
+        Map<String, CategoryType> categories = new HashMap<>();
+        for (CategoryType category : categoryRepository.findByUserId(userId)) {
+            categories.put(category.getName(), category);
+        }
+
+        UserLedger ledger = new UserLedger(userId, categories);
+        Household household = Household.random(new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index));
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0xBF58476D1CE4E5B9L));
+
+        int monthIndex = 0;
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1), monthIndex++) {
+            double prices = Math.pow(1 + MONTHLY_INFLATION, monthIndex);
+            generateMonth(ledger, household, random, month, prices, variablePerMonth);
+        }
+        ledger.finish();
+
+        userBalanceService.applyPending(ledger.balance);
+        monthlyRollupService.applyPending(ledger.rollups);
+        dailyLedgerService.applyPending(ledger.dailyLedger);
+        dataVersions.bump(userId);
+        searchIndex.invalidate(userId);
+        return ledger.created;
+    }
+
+    private void generateMonth(UserLedger ledger, Household household, SplittableRandom random, YearMonth month,
+                               double prices, int variablePerMonth) {
+        Month m = month.getMonth();
+
+        // ==================== INGRESOS ====================
+        BigDecimal salary = amount(household.salary * prices, random, 0.0);
+        ledger.add(month, random.nextInt(1, 6), random, "Salario", "Sueldo " + monthName(month), salary);
+        if (m == Month.JUNE || m == Month.DECEMBER) {
+            ledger.add(month, random.nextInt(15, 21), random, "Salario", "Aguinaldo " + monthName(month),
+                    salary.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP));
+        }
+        if (household.landlord) {
+            ledger.add(month, random.nextInt(1, 11), random, "Alquileres", "Cobro alquiler depto",
+                    amount(household.rent * 0.8 * prices, random, 0.0));
+        }
+        if (household.investor && month.getMonthValue() % 3 == 0) {
+            ledger.add(month, random.nextInt(10, 29), random, "Dividendos", "Dividendos trimestrales",
+                    amount(household.salary * 0.08 * prices, random, 0.4));
+        }
+
+        // ==================== GASTOS FIJOS ====================
+        if (household.tenant) {
+            ledger.add(month, random.nextInt(1, 11), random, "Alquiler", "Alquiler " + monthName(month),
+                    amount(household.rent * prices, random, 0.0));
+        }
+        double heating = switch (m) {
+            case JUNE, JULY, AUGUST -> 2.5;
+            case MAY, SEPTEMBER -> 1.5;
+            default -> 1.0;
+        };
+        double cooling = switch (m) {
+            case DECEMBER, JANUARY, FEBRUARY -> 1.8;
+            default -> 1.0;
+        };
+        ledger.add(month, random.nextInt(5, 16), random, "Luz", "Factura de luz",
+                amount(household.salary * 0.02 * cooling * prices, random, 0.15));
+        ledger.add(month, random.nextInt(5, 16), random, "Gas", "Factura de gas",
+                amount(household.salary * 0.012 * heating * prices, random, 0.15));
+        ledger.add(month, random.nextInt(5, 16), random, "Agua", "Factura de agua",
+                amount(household.salary * 0.008 * prices, random, 0.1));
+        if (household.car) {
+            ledger.add(month, random.nextInt(1, 11), random, "Seguro Auto", "Cuota seguro auto",
+                    amount(household.salary * 0.04 * prices, random, 0.0));
+        }
+        if (m == Month.MARCH && household.children) {
+            ledger.add(month, random.nextInt(1, 16), random, "Educación", "Útiles y uniformes",
+                    amount(household.salary * 0.25 * prices, random, 0.3));
+        }
+
+        // ==================== GASTOS VARIABLES ====================
+        double shopping = m == Month.DECEMBER ? 1.3 : 1.0;
+        double leisure = m == Month.JANUARY || m == Month.JULY ? 2.0 : 1.0;
+        int count = Math.max(0, (int) Math.round(variablePerMonth * (0.8 + random.nextDouble() * 0.4)));
+        for (int i = 0; i < count; i++) {
+            double pick = random.nextDouble();
+            String category;
+            double base;
+            if (pick < 0.5) {
+                category = "Supermercado";
+                base = household.salary * 0.012 * shopping;
+            } else if (pick < 0.65 && household.car) {
+                category = "Combustible Auto";
+                base = household.salary * 0.02;
+            } else if (pick < 0.75) {
+                category = "Salud";
+                base = household.salary * 0.015;
+            } else if (pick < 0.8 && household.children) {
+                category = "Educación";
+                base = household.salary * 0.01;
+            } else {
+                category = "Entretenimiento";
+                base = household.salary * 0.01 * leisure;
+            }
+            String[] merchants = MERCHANTS.get(category);
+            ledger.add(month, random.nextInt(1, month.lengthOfMonth() + 1), random, category,
+                    merchants[random.nextInt(merchants.length)], amount(base * prices, random, 0.6));
+        }
+    }
+
+    /**
+     * Monto redondeado a centavos, con variación aleatoria de ±spread sobre la base
+     */
+    private static BigDecimal amount(double base, SplittableRandom random, double spread) {
+        double factor = spread == 0 ? 1.0 : 1.0 + (random.nextDouble() * 2 - 1) * spread;
+        return BigDecimal.valueOf(Math.max(1.0, base * factor)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static String monthName(YearMonth month) {
+        return month.getMonth().getDisplayName(TextStyle.FULL, new Locale("es", "ES")) + " " + month.getYear();
+    }
+
+    /**
+     * Rasgos fijos de un usuario sintético
+     */
+    private record Household(double salary, double rent, boolean tenant, boolean landlord, boolean investor,
+                           boolean car, boolean children) {
+
+        static Household random(SplittableRandom random) {
+            double salary = random.nextInt(400, 3001) * 1000.0;
+            return new Household(
+                    salary,
+                    salary * (0.2 + random.nextDouble() * 0.15),
+                    random.nextDouble() < 0.6,
+                    random.nextDouble() < 0.2,
+                    random.nextDouble() < 0.4,
+                    random.nextDouble() < 0.6,
+                    random.nextDouble() < 0.4);
+        }
+    }
+
+    /**
+     * Lote de INSERT pendiente y agregados acumulados de un usuario
+     */
+    private final class UserLedger {
+
+        private final UUID userId;
+        private final Map<String, CategoryType> categories;
+        private final MonthlyRollupService.PendingRollups rollups;
+        private final UserBalanceService.PendingBalance balance;
+        private final DailyLedgerService.PendingLedger dailyLedger;
+        private final List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+        private long created;
+
+        UserLedger(UUID userId, Map<String, CategoryType> categories) {
+            this.userId = userId;
+            this.categories = categories;
+            this.rollups = monthlyRollupService.pending(userId);
+            this.balance = userBalanceService.pending(userId);
+            this.dailyLedger = dailyLedgerService.pending(userId);
+        }
+
+        void add(YearMonth month, int day, SplittableRandom random, String categoryName, String description,
+                 BigDecimal amount) {
+            CategoryType category = categories.get(categoryName);
+            if (category == null) {
+                return; // El template del sistema ya no existe
+            }
+            LocalDateTime date = month.atDay(Math.min(day, month.lengthOfMonth()))
+                    .atTime(random.nextInt(8, 23), random.nextInt(60));
+            Transaction transaction = Transaction.builder()
+                    .userId(userId)
+                    .description(description)
+                    .amount(amount)
+                    .type(category.getType())
+                    .category(category)
+                    .date(date)
+                    .linkedToInvestment(false)
+                    .build();
+
+            TransactionSnapshot snapshot = TransactionSnapshot.of(transaction);
+            rollups.add(snapshot);
+            balance.add(snapshot);
+            dailyLedger.add(snapshot);
+            batch.add(transaction);
+            created++;
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void finish() {
+            flush();
+        }
+
+        private void flush() {
+            batchWriter.insertAll(batch);
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.myfinances.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * 🧪 Carga datos sintéticos al iniciar con el perfil "datagen" (H2 o Postgres)
+ *
+ *   --spring.profiles.active=datagen --account.datagen.users=100 --account.datagen.seed=7
+ *
+ * Configuración (account.datagen.*): seed, users, years, until (último mes generado, yyyy-MM; por defecto
+ * el mes actual: fijarlo para obtener exactamente los mismos datos en otra corrida), variable-per-month
+ * Los usuarios que ya tienen categorías se saltean, por lo que repetir la carga no duplica datos
+ */
+@Component
+@Profile(DatasetGenerator.PROFILE)
+@Slf4j
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private final DatasetGenerator generator;
+    private final CategoryInitializationService categoryInitializationService;
+    private final long seed;
+    private final int users;
+    private final int years;
+    private final YearMonth until;
+    private final int variablePerMonth;
+
+    public DatasetGeneratorRunner(
+            DatasetGenerator generator,
+            CategoryInitializationService categoryInitializationService,
+            @Value("${account.datagen.seed:42}") long seed,
+            @Value("${account.datagen.users:10}") int users,
+            @Value("${account.datagen.years:5}") int years,
+            @Value("${account.datagen.until:}") String until,
+            @Value("${account.datagen.variable-per-month:40}") int variablePerMonth) {
+        this.generator = generator;
+        this.categoryInitializationService = categoryInitializationService;
+        this.seed = seed;
+        this.users = users;
+        this.years = years;
+        this.until = until.isBlank() ? YearMonth.now() : YearMonth.parse(until);
+        this.variablePerMonth = variablePerMonth;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Los templates del sistema deben existir antes de clonarlos (el orden entre runners no está garantizado)
+        categoryInitializationService.initializeSystemCategories();
+
+        YearMonth first = until.minusYears(years).plusMonths(1);
+        log.info("Generando datos sintéticos: {} usuarios, {} a {}, semilla {}", users, first, until, seed);
+
+        long start = System.nanoTime();
+        long transactions = 0;
+        int skipped = 0;
+        for (int index = 0; index < users; index++) {
+            UUID userId = DatasetGenerator.userId(seed, index);
+            long created = generator.generateUser(userId, seed, index, first, until, variablePerMonth);
+            if (created < 0) {
+                skipped++;
+            } else {
+                transactions += created;
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("✅ Datos sintéticos: {} usuarios nuevos ({} ya existían), {} transacciones en {} ms ({} tx/s)",
+                users - skipped, skipped, transactions, millis, millis > 0 ? transactions * 1000 / millis : transactions);
+        log.info("Usuario de ejemplo: X-User-Id {}", DatasetGenerator.userId(seed, 0));
+    }
+}
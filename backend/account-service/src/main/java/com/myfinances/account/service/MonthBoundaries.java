@@ -0,0 +1,114 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ⭐ Convierte (año, mes) o días del usuario en rangos [inicio, fin) sobre transactions.date
+ * Los rangos permiten usar idx_user_date, a diferencia de YEAR()/MONTH()
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthBoundaries {
+
+    private final UserZoneResolver userZoneResolver;
+
+    /**
+     * Rango del mes en el timezone del usuario
+     */
+    public MonthRange of(UUID userId, int year, int month) {
+        return between(userId, toYearMonth(year, month), toYearMonth(year, month));
+    }
+
+    /**
+     * Rango que cubre desde el inicio de {@code from} hasta el fin de {@code to}
+     */
+    public MonthRange between(UUID userId, YearMonth from, YearMonth to) {
+        ZoneId userZone = userZoneResolver.zoneOf(userId);
+        return new MonthRange(
+                toStorage(from.atDay(1).atStartOfDay(), userZone),
+                toStorage(to.plusMonths(1).atDay(1).atStartOfDay(), userZone)
+        );
+    }
+
+    /**
+     * Mes (en el timezone del usuario) al que pertenece una fecha guardada
+     */
+    public YearMonth monthOf(UUID userId, LocalDateTime storedDate) {
+        return monthOf(storedDate, userZoneResolver.zoneOf(userId));
+    }
+
+    /**
+     * Mes en un timezone dado al que pertenece una fecha guardada
+     */
+    public YearMonth monthOf(LocalDateTime storedDate, ZoneId zone) {
+        return YearMonth.from(storedDate.atZone(userZoneResolver.storageZone()).withZoneSameInstant(zone));
+    }
+
+    /**
+     * Los días [from, to] completos del usuario partidos en tramos de desfase constante con el almacenamiento
+     * Un tramo por cada cambio de offset (horario de verano) del usuario o del almacenamiento dentro del rango:
+     * en cada tramo el día del usuario se calcula en la base sumando el desfase a la fecha guardada
+     */
+    public List<ShiftedRange> dayShifts(UUID userId, LocalDate from, LocalDate to) {
+        ZoneId userZone = userZoneResolver.zoneOf(userId);
+        ZoneId storageZone = userZoneResolver.storageZone();
+        Instant end = to.plusDays(1).atStartOfDay(userZone).toInstant();
+
+        List<ShiftedRange> ranges = new ArrayList<>();
+        Instant cursor = from.atStartOfDay(userZone).toInstant();
+        while (cursor.isBefore(end)) {
+            Instant next = earliest(end, nextTransition(userZone, cursor), nextTransition(storageZone, cursor));
+            long shift = userZone.getRules().getOffset(cursor).getTotalSeconds()
+                    - storageZone.getRules().getOffset(cursor).getTotalSeconds();
+            ranges.add(new ShiftedRange(
+                    LocalDateTime.ofInstant(cursor, storageZone), LocalDateTime.ofInstant(next, storageZone), shift));
+            cursor = next;
+        }
+        return ranges;
+    }
+
+    private static Instant nextTransition(ZoneId zone, Instant after) {
+        ZoneOffsetTransition transition = zone.getRules().nextTransition(after);
+        return transition != null ? transition.getInstant() : Instant.MAX;
+    }
+
+    private static Instant earliest(Instant a, Instant b, Instant c) {
+        Instant min = a.isBefore(b) ? a : b;
+        return min.isBefore(c) ? min : c;
+    }
+
+    /**
+     * Mes actual según el timezone del usuario
+     */
+    public YearMonth currentMonth(UUID userId) {
+        return YearMonth.now(userZoneResolver.zoneOf(userId));
+    }
+
+    private LocalDateTime toStorage(LocalDateTime userLocal, ZoneId userZone) {
+        return userLocal.atZone(userZone).withZoneSameInstant(userZoneResolver.storageZone()).toLocalDateTime();
+    }
+
+    /**
+     * Mes pedido por el cliente; año o mes fuera de rango es un 400, no un 500
+     */
+    public YearMonth toYearMonth(int year, int month) {
+        try {
+            return YearMonth.of(year, month);
+        } catch (DateTimeException e) {
+            throw new BadRequestException("Mes inválido: " + year + "-" + month);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.myfinances.account.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rango semiabierto [start, end) en el timezone de almacenamiento
+ */
+public record MonthRange(LocalDateTime start, LocalDateTime end) {
+}
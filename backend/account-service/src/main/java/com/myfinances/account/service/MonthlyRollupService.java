@@ -0,0 +1,438 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.model.MonthlyRollup;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.model.UserTimezone;
+import com.myfinances.account.repository.MonthlyRollupRepository;
+import com.myfinances.account.repository.MonthlySummarySnapshotRepository;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.UserTimezoneRepository;
+import com.myfinances.account.repository.projection.CategoryAmountView;
+import com.myfinances.account.repository.projection.CategoryTotalView;
+import com.myfinances.account.repository.projection.MonthlyCategoryTotalView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * ⭐ Mantiene la tabla monthly_rollups (usuario, año, mes, tipo, categoría → suma, cantidad)
+ * Se actualiza dentro de la misma transacción que la escritura en TransactionService
+ * Los cambios en meses cerrados marcan como desactualizado su resumen precalculado
+ *
+ * Los meses se arman con el timezone registrado en user_timezones: las escrituras no consultan user-service.
+ * El cambio de timezone lo detecta la reconciliación diaria (syncZone), que reconstruye los agregados con el nuevo
+ * Escrituras y reconstrucción se serializan con el bloqueo de la fila del usuario en user_balances
+ *
+ * Un usuario sin timezone registrado (primera escritura, o primera desde que existen los agregados) se reconstruye
+ * desde transactions en lugar de sumar solo el delta; UserBalanceReconciler verifica contra transactions cada día
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class MonthlyRollupService implements ApplicationRunner {
+
+    /**
+     * Argumento de arranque para reconstruir todos los agregados: --rebuild-rollups
+     */
+    public static final String REBUILD_OPTION = "rebuild-rollups";
+
+    private final MonthlyRollupRepository rollupRepository;
+    private final MonthlySummarySnapshotRepository snapshotRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserTimezoneRepository timezoneRepository;
+    private final UserZoneResolver userZoneResolver;
+    private final UserBalanceService userBalanceService;
+    private final MonthBoundaries monthBoundaries;
+    private final UserDataVersionService dataVersions;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            rebuildAll();
+        }
+    }
+
+    // ==================== MANTENIMIENTO INCREMENTAL ====================
+
+    /**
+     * Registra una transacción nueva
+     */
+    public void onCreated(Transaction transaction) {
+        BucketZone zone = bucketZone(transaction.getUserId());
+        if (!zone.rebuilt()) {
+            apply(TransactionSnapshot.of(transaction), 1, zone.zone());
+        }
+    }
+
+    /**
+     * Mueve los montos si la transacción cambió de mes, tipo, categoría o monto
+     */
+    public void onUpdated(TransactionSnapshot before, Transaction transaction) {
+        TransactionSnapshot after = TransactionSnapshot.of(transaction);
+        BucketZone zone = bucketZone(transaction.getUserId());
+        if (zone.rebuilt() || sameBucket(before, after, zone.zone()) && before.amount().compareTo(after.amount()) == 0) {
+            return;
+        }
+        apply(before, -1, zone.zone());
+        apply(after, 1, zone.zone());
+    }
+
+    /**
+     * Descuenta una transacción eliminada
+     */
+    public void onDeleted(Transaction transaction) {
+        BucketZone zone = bucketZone(transaction.getUserId());
+        if (!zone.rebuilt()) {
+            apply(TransactionSnapshot.of(transaction), -1, zone.zone());
+        }
+    }
+
+    /**
+     * Aplica los deltas acumulados de una operación masiva (un UPDATE/INSERT por grupo)
+     * Si el usuario todavía no tiene agregados, los acumulados son casi siempre los totales: se intenta el INSERT primero
+     * Si el timezone registrado cambió mientras se acumulaba, se reconstruye (ya incluye las escrituras de la operación)
+     */
+    public void applyPending(PendingRollups pending) {
+        BucketZone zone = bucketZone(pending.userId);
+        if (zone.rebuilt()) {
+            return;
+        }
+        if (!zone.zone().equals(pending.zone)) {
+            rebuild(pending.userId, zone.zone());
+            return;
+        }
+        boolean insertFirst = !rollupRepository.existsByUserId(pending.userId);
+
+        Set<YearMonth> periods = new HashSet<>();
+        pending.rollups.values().stream()
+                .filter(rollup -> rollup.getTransactionCount() != 0 || rollup.getTotal().signum() != 0)
+                .forEach(rollup -> {
+                    add(rollup, insertFirst);
+                    periods.add(YearMonth.of(rollup.getYear(), rollup.getMonth()));
+                });
+        if (insertFirst) {
+            snapshotRepository.markAllStale(pending.userId);
+        } else {
+            periods.forEach(period -> markSnapshotStale(pending.userId, period, pending.zone));
+        }
+    }
+
+    private void apply(TransactionSnapshot snapshot, int sign, ZoneId zone) {
+        YearMonth period = monthBoundaries.monthOf(snapshot.date(), zone);
+        BigDecimal amount = sign > 0 ? snapshot.amount() : snapshot.amount().negate();
+        add(MonthlyRollup.builder()
+                .userId(snapshot.userId())
+                .year(period.getYear())
+                .month(period.getMonthValue())
+                .type(snapshot.type())
+                .categoryId(MonthlyRollup.categoryKey(snapshot.categoryId()))
+                .total(amount)
+                .transactionCount(sign)
+                .build(), false);
+        markSnapshotStale(snapshot.userId(), period, zone);
+    }
+
+    /**
+     * Solo los meses cerrados tienen resumen precalculado (mes actual según el timezone registrado)
+     */
+    private void markSnapshotStale(UUID userId, YearMonth period, ZoneId zone) {
+        if (period.isBefore(YearMonth.now(zone))) {
+            snapshotRepository.markStale(userId, period.getYear(), period.getMonthValue());
+        }
+    }
+
+    /**
+     * Suma el delta a su fila, creándola si no existe
+     * El INSERT ... ON CONFLICT DO NOTHING resuelve la carrera de dos primeras escrituras del mismo grupo:
+     * la que pierde no inserta y suma con el UPDATE
+     */
+    private void add(MonthlyRollup delta, boolean insertFirst) {
+        if (insertFirst && insertIfAbsent(delta)) {
+            return;
+        }
+        if (increment(delta) == 0 && !insertIfAbsent(delta)) {
+            increment(delta);
+        }
+    }
+
+    private int increment(MonthlyRollup delta) {
+        return rollupRepository.increment(delta.getUserId(), delta.getYear(), delta.getMonth(), delta.getType(),
+                delta.getCategoryId(), delta.getTotal(), delta.getTransactionCount());
+    }
+
+    private boolean insertIfAbsent(MonthlyRollup delta) {
+        return rollupRepository.insertIfAbsent(delta.getUserId(), delta.getYear(), delta.getMonth(),
+                delta.getType().name(), delta.getCategoryId(), delta.getTotal(), delta.getTransactionCount()) > 0;
+    }
+
+    private boolean sameBucket(TransactionSnapshot a, TransactionSnapshot b, ZoneId zone) {
+        return monthBoundaries.monthOf(a.date(), zone).equals(monthBoundaries.monthOf(b.date(), zone))
+                && a.type() == b.type()
+                && Objects.equals(a.categoryId(), b.categoryId());
+    }
+
+    // ==================== TIMEZONE DE LOS AGREGADOS ====================
+
+    /**
+     * Timezone con el que se arman los meses del usuario: el registrado, sin consultar user-service
+     * Toma el bloqueo de la fila del usuario en user_balances, que la escritura en curso ya tiene o va a tomar
+     * (se llama después de UserBalanceService): no se suma con el timezone anterior mientras syncZone reconstruye
+     * Sin timezone registrado se registra el que informe user-service y se reconstruyen los agregados: el usuario
+     * puede tener historial anterior a ellos (la reconstrucción ya incluye la escritura en curso)
+     */
+    private BucketZone bucketZone(UUID userId) {
+        userBalanceService.lock(userId);
+        String recorded = timezoneRepository.findZone(userId).orElse(null);
+        if (recorded != null) {
+            return new BucketZone(ZoneId.of(recorded), false);
+        }
+        ZoneId initial = userZoneResolver.zoneOf(userId);
+        timezoneRepository.insertIfAbsent(userId, initial.getId(), LocalDateTime.now());
+        rebuild(userId, initial);
+        return new BucketZone(initial, true);
+    }
+
+    /**
+     * Timezone registrado sin bloquear (acumulación en memoria); applyPending lo verifica con la fila bloqueada
+     */
+    private ZoneId recordedZone(UUID userId) {
+        return timezoneRepository.findZone(userId).map(ZoneId::of).orElseGet(() -> userZoneResolver.zoneOf(userId));
+    }
+
+    /**
+     * Registra el timezone actual del usuario y reconstruye sus agregados si cambió
+     * Lo llama la reconciliación diaria: las escrituras no consultan user-service
+     */
+    public void syncZone(UUID userId) {
+        ZoneId reported = userZoneResolver.reportedZoneOf(userId);
+        if (reported == null) {
+            return; // user-service no respondió: se verifica en la próxima pasada
+        }
+        userBalanceService.lock(userId);
+        UserTimezone recorded = timezoneRepository.findById(userId).orElse(null);
+        if (recorded == null) {
+            timezoneRepository.insertIfAbsent(userId, reported.getId(), LocalDateTime.now());
+            rebuild(userId, reported);
+            return;
+        }
+        if (reported.getId().equals(recorded.getZone())) {
+            return;
+        }
+        log.info("Timezone de usuario {} cambió de {} a {}: se reconstruyen sus agregados",
+                userId, recorded.getZone(), reported);
+        recorded.setZone(reported.getId());
+        recorded.setUpdatedAt(LocalDateTime.now());
+        rebuild(userId, reported);
+    }
+
+    private record BucketZone(ZoneId zone, boolean rebuilt) {
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Totales por categoría y tipo de un mes
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryTotalView> findTotalsForMonth(UUID userId, int year, int month) {
+        return rollupRepository.findTotalsForMonth(userId, year, month);
+    }
+
+    /**
+     * Totales por mes, categoría y tipo de la ventana [desde, hasta] en una sola consulta
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyCategoryTotalView> findTotalsForPeriod(UUID userId, YearMonth from, YearMonth to) {
+        return rollupRepository.findTotalsForPeriod(userId,
+                from.getYear(), from.getMonthValue(), to.getYear(), to.getMonthValue());
+    }
+
+    /**
+     * Totales históricos por categoría
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryAmountView> sumByCategory(UUID userId) {
+        return rollupRepository.sumByCategory(userId);
+    }
+
+    // ==================== RECONSTRUCCIÓN ====================
+
+    /**
+     * 🔄 Recalcula desde cero los agregados de un usuario a partir de transactions
+     * Recorre las transacciones en streaming: la memoria depende de la cantidad de filas agregadas
+     * Después del commit cambia la versión de datos del usuario (ReportCache y ETags dejan de servir lo anterior)
+     */
+    private void rebuild(UUID userId, ZoneId zone) {
+        rollupRepository.deleteByUserId(userId);
+
+        PendingRollups pending = new PendingRollups(userId, zone);
+        try (Stream<TransactionSnapshot> snapshots = transactionRepository.streamSnapshotsByUserId(userId)) {
+            snapshots.forEach(pending::add);
+        }
+
+        // Una escritura concurrente pudo crear filas después del DELETE: se suman en lugar de chocar con la clave única
+        pending.rollups.values().forEach(rollup -> add(rollup, true));
+        snapshotRepository.markAllStale(userId);
+        dataVersions.bump(userId);
+        log.info("Agregados mensuales reconstruidos para usuario {}: {} filas", userId, pending.size());
+    }
+
+    /**
+     * 🔄 Compara los agregados guardados con transactions y los reconstruye si hay diferencias
+     * Cada (mes, tipo, categoría) debe tener la suma y la cantidad reales; los grupos en cero equivalen a no tener fila
+     * Devuelve true si hubo que reparar
+     */
+    public boolean reconcile(UUID userId) {
+        BucketZone zone = bucketZone(userId);
+        if (zone.rebuilt()) {
+            return false;
+        }
+
+        PendingRollups expected = new PendingRollups(userId, zone.zone());
+        try (Stream<TransactionSnapshot> snapshots = transactionRepository.streamSnapshotsByUserId(userId)) {
+            snapshots.forEach(expected::add);
+        }
+        Map<RollupKey, MonthlyRollup> stored = new HashMap<>();
+        rollupRepository.findByUserId(userId).forEach(rollup -> stored.put(RollupKey.of(rollup), rollup));
+
+        Set<RollupKey> keys = new HashSet<>(stored.keySet());
+        keys.addAll(expected.rollups.keySet());
+        RollupKey drifted = keys.stream()
+                .filter(key -> !sameTotals(stored.get(key), expected.rollups.get(key)))
+                .findFirst()
+                .orElse(null);
+        if (drifted == null) {
+            return false;
+        }
+
+        log.warn("Agregados mensuales desviados para usuario {} (primer grupo: {}): se reconstruyen", userId, drifted);
+        rebuild(userId, zone.zone());
+        return true;
+    }
+
+    /**
+     * Misma suma (sin importar la escala) y cantidad; NULL es un grupo en cero
+     */
+    private static boolean sameTotals(MonthlyRollup a, MonthlyRollup b) {
+        BigDecimal totalA = a != null ? a.getTotal() : BigDecimal.ZERO;
+        BigDecimal totalB = b != null ? b.getTotal() : BigDecimal.ZERO;
+        long countA = a != null ? a.getTransactionCount() : 0;
+        long countB = b != null ? b.getTransactionCount() : 0;
+        return totalA.compareTo(totalB) == 0 && countA == countB;
+    }
+
+    /**
+     * 🔄 Recalcula los agregados de todos los usuarios
+     * Cada usuario en su propia transacción, con el timezone registrado (o el default si no tiene): no consulta
+     * user-service; la reconciliación diaria corrige los que hayan cambiado
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildAll() {
+        List<UUID> userIds = transactionRepository.findDistinctUserIds();
+        log.info("Reconstruyendo agregados mensuales de {} usuarios...", userIds.size());
+
+        TransactionTemplate perUser = new TransactionTemplate(transactionManager);
+        perUser.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int failed = 0;
+        for (UUID userId : userIds) {
+            try {
+                perUser.executeWithoutResult(status -> {
+                    userBalanceService.lock(userId);
+                    ZoneId zone = userZoneResolver.lastKnownZoneOf(userId);
+                    timezoneRepository.insertIfAbsent(userId, zone.getId(), LocalDateTime.now());
+                    rebuild(userId, zone);
+                });
+            } catch (RuntimeException e) {
+                failed++;
+                log.error("Error reconstruyendo agregados mensuales de usuario {}", userId, e);
+            }
+        }
+
+        log.info("✅ Agregados mensuales reconstruidos ({} con error)", failed);
+    }
+
+    // ==================== ACUMULACIÓN EN MEMORIA ====================
+
+    /**
+     * Acumulador de agregados de un usuario aún no persistidos
+     */
+    public PendingRollups pending(UUID userId) {
+        return new PendingRollups(userId, recordedZone(userId));
+    }
+
+    /**
+     * Totales por (mes, tipo, categoría) acumulados en memoria
+     * La memoria depende de la cantidad de grupos, no de transacciones
+     */
+    public final class PendingRollups {
+
+        private final UUID userId;
+        private final ZoneId zone;
+        private final Map<RollupKey, MonthlyRollup> rollups = new HashMap<>();
+
+        private PendingRollups(UUID userId, ZoneId zone) {
+            this.userId = userId;
+            this.zone = zone;
+        }
+
+        public void add(TransactionSnapshot snapshot) {
+            accumulate(snapshot, 1);
+        }
+
+        public void remove(TransactionSnapshot snapshot) {
+            accumulate(snapshot, -1);
+        }
+
+        private void accumulate(TransactionSnapshot snapshot, int sign) {
+            YearMonth period = monthBoundaries.monthOf(snapshot.date(), zone);
+            MonthlyRollup rollup = rollups.computeIfAbsent(
+                    new RollupKey(period, snapshot.type(), MonthlyRollup.categoryKey(snapshot.categoryId())),
+                    key -> MonthlyRollup.builder()
+                            .userId(userId)
+                            .year(period.getYear())
+                            .month(period.getMonthValue())
+                            .type(snapshot.type())
+                            .categoryId(key.categoryId())
+                            .total(BigDecimal.ZERO)
+                            .build());
+            rollup.setTotal(rollup.getTotal().add(sign > 0 ? snapshot.amount() : snapshot.amount().negate()));
+            rollup.setTransactionCount(rollup.getTransactionCount() + sign);
+        }
+
+        public int size() {
+            return rollups.size();
+        }
+    }
+
+    private record RollupKey(YearMonth period, TransactionType type, Long categoryId) {
+
+        static RollupKey of(MonthlyRollup rollup) {
+            return new RollupKey(YearMonth.of(rollup.getYear(), rollup.getMonth()), rollup.getType(), rollup.getCategoryId());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.repository.MonthlySummarySnapshotRepository;
+import com.myfinances.account.repository.UserTimezoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 🔄 Precalcula el resumen del mes recién cerrado de cada usuario, antes de que todos lo abran a la vez
+ *
+ * - Corre cada hora los días 1 y 2 (el cierre de mes depende del timezone de cada usuario)
+ * - Recorre user_timezones agrupado por timezone: el mes cerrado se calcula una vez por timezone, sin consultar
+ *   user-service ni recorrer transactions (todo usuario con transacciones tiene timezone registrado desde su
+ *   primera escritura o la reconciliación diaria)
+ * - Saltea usuarios que ya tienen el resumen vigente: repetir la corrida es barato
+ * - Procesa por lotes con paralelismo acotado (cada usuario en su propia transacción), en virtual threads
+ *   si spring.threads.virtual.enabled está activo
+ *
+ * Configuración: account.snapshot.cron ("-" lo desactiva), account.snapshot.parallelism, account.snapshot.batch-size
+ */
+@Component
+@Slf4j
+public class MonthlySnapshotScheduler {
+
+    private final ReportService reportService;
+    private final MonthlySummarySnapshotRepository snapshotRepository;
+    private final UserTimezoneRepository timezoneRepository;
+    private final int parallelism;
+    private final int batchSize;
+    private final boolean virtualThreads;
+
+    public MonthlySnapshotScheduler(
+            ReportService reportService,
+            MonthlySummarySnapshotRepository snapshotRepository,
+            UserTimezoneRepository timezoneRepository,
+            @Value("${account.snapshot.parallelism:4}") int parallelism,
+            @Value("${account.snapshot.batch-size:200}") int batchSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.reportService = reportService;
+        this.snapshotRepository = snapshotRepository;
+        this.timezoneRepository = timezoneRepository;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Scheduled(cron = "${account.snapshot.cron:0 15 * 1,2 * *}")
+    public void precomputeClosedMonth() {
+        Map<YearMonth, List<String>> zonesByClosedMonth = timezoneRepository.findDistinctZones().stream()
+                .collect(Collectors.groupingBy(zone -> YearMonth.now(ZoneId.of(zone)).minusMonths(1)));
+
+        AtomicInteger computed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        // El paralelismo queda acotado también con virtual threads: cada usuario ocupa una conexión del pool
+        ExecutorService executor = virtualThreads
+                ? Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("snapshot-", 0).factory())
+                : Executors.newFixedThreadPool(parallelism);
+        try {
+            zonesByClosedMonth.forEach((period, zones) -> {
+                Set<UUID> fresh = new HashSet<>(
+                        snapshotRepository.findUserIdsWithFreshSnapshot(period.getYear(), period.getMonthValue()));
+                List<UUID> pending = zones.stream()
+                        .flatMap(zone -> timezoneRepository.findUserIdsByZone(zone).stream())
+                        .filter(userId -> !fresh.contains(userId))
+                        .toList();
+
+                for (int from = 0; from < pending.size(); from += batchSize) {
+                    List<Callable<UUID>> batch = new ArrayList<>();
+                    for (UUID userId : pending.subList(from, Math.min(from + batchSize, pending.size()))) {
+                        batch.add(() -> {
+                            reportService.refreshSnapshot(userId, period);
+                            return userId;
+                        });
+                    }
+                    runBatch(executor, batch, period, computed, failed);
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        if (computed.get() > 0 || failed.get() > 0) {
+            log.info("Resúmenes mensuales precalculados: {} nuevos, {} con error", computed.get(), failed.get());
+        }
+    }
+
+    private void runBatch(ExecutorService executor, List<Callable<UUID>> batch, YearMonth period,
+                          AtomicInteger computed, AtomicInteger failed) {
+        try {
+            for (Future<UUID> result : executor.invokeAll(batch)) {
+                try {
+                    result.get();
+                    computed.incrementAndGet();
+                } catch (ExecutionException e) {
+                    failed.incrementAndGet();
+                    log.error("Error precalculando el resumen de {}", period, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Precálculo de resúmenes interrumpido", e);
+        }
+    }
+}
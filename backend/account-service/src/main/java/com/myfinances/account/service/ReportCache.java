@@ -0,0 +1,61 @@
+package com.myfinances.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * ⭐ Caché de resultados de reportes con clave (usuario, reporte, parámetros, versión de datos)
+ *
+ * - No necesita invalidación: una escritura cambia la versión del usuario y las entradas viejas
+ *   dejan de consultarse hasta que el tamaño máximo o el TTL las desalojan
+ * - El TTL además acota la vigencia de datos que dependen del reloj o del timezone del usuario
+ * - Los valores se comparten entre requests: no deben modificarse después de cacheados
+ *
+ * Métricas en actuator: cache.gets (hit/miss), cache.evictions, cache.size con cache=reports
+ */
+@Component
+public class ReportCache {
+
+    public static final String CACHE_NAME = "reports";
+
+    private final UserDataVersionService dataVersions;
+    private final Cache<Key, Object> reports;
+    private final SingleFlightLoader<Key, Object> loader;
+
+    public ReportCache(
+            UserDataVersionService dataVersions,
+            MeterRegistry meterRegistry,
+            @Value("${account.report-cache.max-entries:10000}") long maxEntries,
+            @Value("${account.report-cache.ttl:PT10M}") Duration ttl) {
+        this.dataVersions = dataVersions;
+        this.reports = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.loader = new SingleFlightLoader<>(reports);
+        CaffeineCacheMetrics.monitor(meterRegistry, reports, CACHE_NAME);
+    }
+
+    /**
+     * Resultado cacheado del reporte, o el calculado por compute para la versión actual
+     * La versión se lee antes de calcular: si hay una escritura en curso el resultado queda bajo la versión anterior
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(UUID userId, String report, List<?> params, Supplier<T> compute) {
+        Key key = new Key(userId, report, params, dataVersions.current(userId));
+        return (T) loader.get(key, ignored -> compute.get());
+    }
+
+    private record Key(UUID userId, String report, List<?> params, long version) {
+    }
+}
@@ -1,55 +1,139 @@
 package com.myfinances.account.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfinances.account.dto.CashflowDTO;
 import com.myfinances.account.dto.CategorySummaryDTO;
 import com.myfinances.account.dto.MonthlySummaryDTO;
-import com.myfinances.account.model.CategoryType;
-import com.myfinances.account.model.Transaction;
+import com.myfinances.account.exception.BadRequestException;
+import com.myfinances.account.model.MonthlySummarySnapshot;
 import com.myfinances.account.model.TransactionType;
-import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.repository.MonthlySummarySnapshotRepository;
 import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.projection.DailyTypeAmountView;
+import com.myfinances.account.repository.projection.MonthlyCategoryTotalView;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.TextStyle;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class ReportService {
 
+    /**
+     * Máximo de meses permitidos en una comparativa
+     */
+    public static final int MAX_COMPARISON_MONTHS = 120;
+
+    /**
+     * Máximo de días cubiertos por una serie de flujo de caja (~10 años)
+     */
+    public static final int MAX_CASHFLOW_DAYS = 3660;
+
     private final TransactionRepository transactionRepository;
-    private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final CategoryAggregator categoryAggregator;
+    private final MonthBoundaries monthBoundaries;
+    private final ReportCache reportCache;
+    private final MonthlySummarySnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
 
     /**
      * Genera un resumen mensual completo
+     * Lee los agregados de monthly_rollups: costo constante sin importar el historial
+     * Los meses cerrados se sirven desde su resumen precalculado (ver MonthlySnapshotScheduler)
      */
+    @Transactional
     public MonthlySummaryDTO getMonthlySummary(UUID userId, int year, int month) {
-        List<Transaction> transactions = transactionRepository.findByUserIdAndYearAndMonth(userId, year, month);
+        YearMonth period = monthBoundaries.toYearMonth(year, month);
+        return reportCache.get(userId, "monthly", List.of(year, month), () ->
+                period.isBefore(monthBoundaries.currentMonth(userId))
+                        ? closedMonthSummary(userId, period)
+                        : computeMonthlySummary(userId, year, month));
+    }
 
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpense = BigDecimal.ZERO;
-        long incomeCount = 0;
-        long expenseCount = 0;
-
-        for (Transaction t : transactions) {
-            if (t.getType() == TransactionType.INCOME) {
-                totalIncome = totalIncome.add(t.getAmount());
-                incomeCount++;
-            } else {
-                totalExpense = totalExpense.add(t.getAmount());
-                expenseCount++;
+    /**
+     * 🔄 Recalcula y guarda el resumen precalculado de un mes cerrado
+     */
+    @Transactional
+    public MonthlySummaryDTO refreshSnapshot(UUID userId, YearMonth period) {
+        return storeSnapshot(userId, period,
+                snapshotRepository.findByUserIdAndYearAndMonth(userId, period.getYear(), period.getMonthValue())
+                        .orElse(null));
+    }
+
+    private MonthlySummaryDTO closedMonthSummary(UUID userId, YearMonth period) {
+        MonthlySummarySnapshot snapshot = snapshotRepository
+                .findByUserIdAndYearAndMonth(userId, period.getYear(), period.getMonthValue())
+                .orElse(null);
+        if (snapshot != null && !snapshot.isStale()) {
+            try {
+                return objectMapper.readValue(snapshot.getPayload(), MonthlySummaryDTO.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Resumen precalculado ilegible para usuario {} ({}), se recalcula", userId, period, e);
             }
         }
+        return storeSnapshot(userId, period, snapshot);
+    }
+
+    /**
+     * Guarda el resumen recalculado
+     * Si todavía no existe, lo inserta con INSERT ... ON CONFLICT DO NOTHING: una lectura y
+     * MonthlySnapshotScheduler pueden calcular el mismo mes a la vez, y el que pierde descarta su copia
+     * (equivalente, sale de los mismos agregados)
+     */
+    private MonthlySummaryDTO storeSnapshot(UUID userId, YearMonth period, MonthlySummarySnapshot snapshot) {
+        MonthlySummaryDTO summary = computeMonthlySummary(userId, period.getYear(), period.getMonthValue());
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(summary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el resumen mensual", e);
+        }
+
+        if (snapshot == null) {
+            snapshotRepository.insertIfAbsent(userId, period.getYear(), period.getMonthValue(), payload, LocalDateTime.now());
+            return summary;
+        }
+        snapshot.setPayload(payload);
+        snapshot.setStale(false);
+        snapshot.setComputedAt(LocalDateTime.now());
+        snapshotRepository.save(snapshot);
+        return summary;
+    }
+
+    private MonthlySummaryDTO computeMonthlySummary(UUID userId, int year, int month) {
+        return buildMonthlySummary(year, month, categoryAggregator.aggregateByType(
+                monthlyRollupService.findTotalsForMonth(userId, year, month)));
+    }
 
+    private MonthlySummaryDTO buildMonthlySummary(int year, int month,
+                                                  Map<TransactionType, CategoryAggregator.Accumulator> byType) {
+        CategoryAggregator.Accumulator incomes = byType.get(TransactionType.INCOME);
+        CategoryAggregator.Accumulator expenses = byType.get(TransactionType.EXPENSE);
+
+        BigDecimal totalIncome = incomes.getGrandTotal();
+        BigDecimal totalExpense = expenses.getGrandTotal();
         BigDecimal balance = totalIncome.subtract(totalExpense);
         BigDecimal savingsRate = BigDecimal.ZERO;
         if (totalIncome.compareTo(BigDecimal.ZERO) > 0) {
@@ -67,10 +151,10 @@ public class ReportService {
                 .totalExpense(totalExpense)
                 .balance(balance)
                 .savingsRate(savingsRate)
-                .incomeTransactionCount(incomeCount)
-                .expenseTransactionCount(expenseCount)
-                .expensesByCategory(getExpensesByCategory(userId, year, month))
-                .incomesByCategory(getIncomesByCategory(userId, year, month))
+                .incomeTransactionCount(incomes.getTransactionCount())
+                .expenseTransactionCount(expenses.getTransactionCount())
+                .expensesByCategory(expenses.toSummaries())
+                .incomesByCategory(incomes.toSummaries())
                 .calculatedAt(LocalDateTime.now())
                 .build();
     }
@@ -90,45 +174,10 @@ public class ReportService {
     }
 
     private List<CategorySummaryDTO> getSummaryByTypeAndMonth(UUID userId, TransactionType type, int year, int month) {
-        List<Transaction> transactions = transactionRepository.findByUserIdAndYearAndMonth(userId, year, month);
-        List<CategoryType> categories = categoryRepository.findByUserId(userId);
-
-        BigDecimal grandTotal = transactions.stream()
-                .filter(t -> t.getType() == type)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        List<CategorySummaryDTO> summaries = new ArrayList<>();
-
-        for (CategoryType category : categories) {
-            BigDecimal categoryTotal = transactions.stream()
-                    .filter(t -> t.getType() == type && t.getCategory() != null && t.getCategory().getId().equals(category.getId()))
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            long count = transactions.stream()
-                    .filter(t -> t.getType() == type && t.getCategory() != null && t.getCategory().getId().equals(category.getId()))
-                    .count();
-
-            if (count > 0) {
-                BigDecimal percentage = BigDecimal.ZERO;
-                if (grandTotal.compareTo(BigDecimal.ZERO) > 0) {
-                    percentage = categoryTotal.divide(grandTotal, 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100));
-                }
-
-                summaries.add(CategorySummaryDTO.builder()
-                        .categoryId(category.getId())
-                        .categoryName(category.getName())
-                        .totalAmount(categoryTotal)
-                        .transactionCount(count)
-                        .percentage(percentage)
-                        .build());
-            }
-        }
-
-        summaries.sort((a, b) -> b.getTotalAmount().compareTo(a.getTotalAmount()));
-        return summaries;
+        return reportCache.get(userId, "by-category", List.of(type, year, month), () ->
+                categoryAggregator.aggregateByType(monthlyRollupService.findTotalsForMonth(userId, year, month))
+                        .get(type)
+                        .toSummaries());
     }
 
     /**
@@ -146,62 +195,122 @@ public class ReportService {
     }
 
     private CategorySummaryDTO.CategorySummaryResponse getSummaryByType(UUID userId, TransactionType type) {
-        List<Transaction> transactions = transactionRepository.findByUserIdAndType(userId, type);
-        List<CategoryType> categories = categoryRepository.findByUserId(userId);
-
-        BigDecimal grandTotal = transactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        List<CategorySummaryDTO> summaries = new ArrayList<>();
-
-        for (CategoryType category : categories) {
-            BigDecimal categoryTotal = transactions.stream()
-                    .filter(t -> t.getCategory() != null && t.getCategory().getId().equals(category.getId()))
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            long count = transactions.stream()
-                    .filter(t -> t.getCategory() != null && t.getCategory().getId().equals(category.getId()))
-                    .count();
-
-            if (count > 0) {
-                BigDecimal percentage = BigDecimal.ZERO;
-                if (grandTotal.compareTo(BigDecimal.ZERO) > 0) {
-                    percentage = categoryTotal.divide(grandTotal, 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100));
-                }
+        return reportCache.get(userId, "all-by-category", List.of(type), () ->
+                categoryAggregator.aggregate(transactionRepository.sumByCategoryForType(userId, type)).toResponse());
+    }
+
+    /**
+     * Serie de flujo de caja de los días [from, to] del usuario, densa (períodos sin movimientos en cero)
+     * La base agrupa por día del usuario y tipo (una consulta por tramo de offset, casi siempre una sola);
+     * cada grupo se asigna a su período en memoria
+     */
+    public CashflowDTO getCashflow(UUID userId, LocalDate from, LocalDate to, String granularity) {
+        CashflowDTO.Granularity size = parseGranularity(granularity);
+        if (to.isBefore(from)) {
+            throw new BadRequestException("La fecha de inicio no puede ser posterior a la de fin");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CASHFLOW_DAYS) {
+            throw new BadRequestException("El rango no puede superar los " + MAX_CASHFLOW_DAYS + " días");
+        }
+        return reportCache.get(userId, "cashflow", List.of(from, to, size), () -> buildCashflow(userId, from, to, size));
+    }
 
-                summaries.add(CategorySummaryDTO.builder()
-                        .categoryId(category.getId())
-                        .categoryName(category.getName())
-                        .totalAmount(categoryTotal)
-                        .transactionCount(count)
-                        .percentage(percentage)
-                        .build());
+    private CashflowDTO buildCashflow(UUID userId, LocalDate from, LocalDate to, CashflowDTO.Granularity size) {
+
+        // Períodos vacíos: se rellenan en memoria, sin consultas por período
+        Map<LocalDate, CashflowDTO.Point> points = new LinkedHashMap<>();
+        for (LocalDate start = size.align(from); !start.isAfter(to); start = size.next(start)) {
+            LocalDate periodStart = start.isBefore(from) ? from : start;
+            LocalDate periodEnd = size.next(start).minusDays(1);
+            points.put(start, CashflowDTO.Point.builder()
+                    .periodStart(periodStart)
+                    .periodEnd(periodEnd.isAfter(to) ? to : periodEnd)
+                    .income(BigDecimal.ZERO)
+                    .expense(BigDecimal.ZERO)
+                    .build());
+        }
+
+        for (ShiftedRange range : monthBoundaries.dayShifts(userId, from, to)) {
+            for (DailyTypeAmountView group : transactionRepository.sumByShiftedDayAndType(
+                    userId, range.start(), range.end(), range.shiftSeconds())) {
+                LocalDate day = group.getDay();
+                if (day.isBefore(from) || day.isAfter(to)) {
+                    continue; // No debería pasar: los tramos cubren exactamente los días [from, to] del usuario
+                }
+                CashflowDTO.Point point = points.get(size.align(day));
+                if (group.getType() == TransactionType.INCOME) {
+                    point.setIncome(point.getIncome().add(group.getTotal()));
+                } else {
+                    point.setExpense(point.getExpense().add(group.getTotal()));
+                }
             }
         }
 
-        summaries.sort((a, b) -> b.getTotalAmount().compareTo(a.getTotalAmount()));
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        for (CashflowDTO.Point point : points.values()) {
+            point.setNet(point.getIncome().subtract(point.getExpense()));
+            totalIncome = totalIncome.add(point.getIncome());
+            totalExpense = totalExpense.add(point.getExpense());
+        }
 
-        return CategorySummaryDTO.CategorySummaryResponse.builder()
-                .categories(summaries)
-                .grandTotal(grandTotal)
+        return CashflowDTO.builder()
+                .from(from)
+                .to(to)
+                .granularity(size)
+                .totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .net(totalIncome.subtract(totalExpense))
+                .points(List.copyOf(points.values()))
+                .calculatedAt(LocalDateTime.now())
                 .build();
     }
 
+    private CashflowDTO.Granularity parseGranularity(String value) {
+        try {
+            return CashflowDTO.Granularity.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Granularidad no soportada: " + value + " (day, week o month)");
+        }
+    }
+
     /**
-     * Obtiene comparativa de los últimos N meses
+     * Obtiene comparativa de los últimos N meses (el actual primero)
+     * Trae toda la ventana en una sola consulta y agrupa las filas por mes en memoria
      */
     public List<MonthlySummaryDTO> getMonthlyComparison(UUID userId, int months) {
-        List<MonthlySummaryDTO> comparison = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
+        return getMonthlyComparison(userId, months, false);
+    }
+
+    /**
+     * Igual que {@link #getMonthlyComparison(UUID, int)}; con parallel = true los meses
+     * se arman en paralelo (útil en ventanas largas)
+     */
+    public List<MonthlySummaryDTO> getMonthlyComparison(UUID userId, int months, boolean parallel) {
+        if (months < 1 || months > MAX_COMPARISON_MONTHS) {
+            throw new BadRequestException("La cantidad de meses debe estar entre 1 y " + MAX_COMPARISON_MONTHS);
+        }
+
+        YearMonth current = monthBoundaries.currentMonth(userId);
+        return reportCache.get(userId, "monthly-comparison", List.of(current, months), () ->
+                buildMonthlyComparison(userId, current, months, parallel));
+    }
+
+    private List<MonthlySummaryDTO> buildMonthlyComparison(UUID userId, YearMonth current, int months, boolean parallel) {
+        YearMonth oldest = current.minusMonths(months - 1L);
+
+        Map<YearMonth, List<MonthlyCategoryTotalView>> rowsByMonth = monthlyRollupService
+                .findTotalsForPeriod(userId, oldest, current).stream()
+                .collect(Collectors.groupingBy(row -> YearMonth.of(row.getYear(), row.getMonth())));
 
-        for (int i = 0; i < months; i++) {
-            LocalDateTime date = now.minusMonths(i);
-            comparison.add(getMonthlySummary(userId, date.getYear(), date.getMonthValue()));
+        Stream<YearMonth> window = IntStream.range(0, months).mapToObj(current::minusMonths);
+        if (parallel) {
+            window = window.parallel();
         }
 
-        return comparison;
+        return window
+                .map(ym -> buildMonthlySummary(ym.getYear(), ym.getMonthValue(), categoryAggregator.aggregateByType(
+                        rowsByMonth.getOrDefault(ym, List.of()))))
+                .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package com.myfinances.account.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rango semiabierto [start, end) en el timezone de almacenamiento con un desfase constante respecto del usuario:
+ * fecha guardada + shiftSeconds = fecha local del usuario
+ */
+public record ShiftedRange(LocalDateTime start, LocalDateTime end, long shiftSeconds) {
+}
@@ -0,0 +1,90 @@
+package com.myfinances.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 🔄 Carga de entradas de una caché Caffeine compatible con virtual threads
+ *
+ * Cache.get(key, loader) ejecuta el loader dentro de ConcurrentHashMap.compute (bloque synchronized):
+ * una consulta a la base o a otro servicio ahí adentro fija el virtual thread a su carrier.
+ * Acá el loader corre en el hilo que llama, fuera del mapa, y se mantiene una sola carga por clave:
+ * los demás hilos esperan su resultado (esperar un CompletableFuture no fija el carrier)
+ */
+final class SingleFlightLoader<K, V> {
+
+    private final Cache<K, V> cache;
+    private final ConcurrentMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    SingleFlightLoader(Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Valor cacheado, o el que calcula loader (NULL no se cachea)
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            value = cache.asMap().get(key);
+            if (value == null) {
+                value = loader.apply(key);
+                if (value != null) {
+                    cache.put(key, value);
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Ejecuta un cambio sobre la entrada cuando termina la carga en curso de esa clave (si la hay),
+     * para que no se pierda contra un valor leído antes del cambio
+     */
+    void afterLoad(K key, Runnable change) {
+        CompletableFuture<V> inFlight = loading.get(key);
+        if (inFlight != null) {
+            try {
+                inFlight.join();
+            } catch (CompletionException ignored) {
+                // La carga falló: no quedó nada cacheado que corregir
+            }
+        }
+        change.run();
+    }
+
+    private static <V> V await(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
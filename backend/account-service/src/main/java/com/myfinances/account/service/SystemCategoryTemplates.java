@@ -0,0 +1,97 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ⭐ Árbol inmutable de las categorías del sistema (templates), cargado una vez en memoria
+ * Se usa para clonar las categorías de cada usuario nuevo sin consultar la base
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SystemCategoryTemplates {
+
+    private final CategoryRepository categoryRepository;
+
+    // ReentrantLock en lugar de synchronized: la carga consulta la base y no debe fijar virtual threads al carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Tree tree;
+
+    /**
+     * Nodo del árbol de templates
+     */
+    public record Template(String name, TransactionType type, String description, List<Template> children) {
+    }
+
+    /**
+     * Raíces del árbol y cantidad total de templates
+     */
+    public record Tree(List<Template> roots, int size) {
+    }
+
+    /**
+     * Árbol actual; se carga en el primer uso si todavía no se cargó
+     */
+    public Tree get() {
+        Tree current = tree;
+        if (current == null) {
+            current = refresh();
+        }
+        return current;
+    }
+
+    /**
+     * Vuelve a leer las categorías del sistema (al iniciar o si cambian)
+     */
+    public Tree refresh() {
+        refreshLock.lock();
+        try {
+            return load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Tree load() {
+        List<CategoryType> systemCategories = categoryRepository.findByIsSystemTrue();
+
+        Map<Long, List<CategoryType>> childrenByParent = new HashMap<>();
+        List<CategoryType> roots = new ArrayList<>();
+        for (CategoryType category : systemCategories) {
+            if (category.getParentId() == null) {
+                roots.add(category);
+            } else {
+                childrenByParent.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category);
+            }
+        }
+
+        Tree loaded = new Tree(toTemplates(roots, childrenByParent), systemCategories.size());
+        tree = loaded;
+        log.info("Templates de categorías del sistema cargados: {}", loaded.size());
+        return loaded;
+    }
+
+    private List<Template> toTemplates(List<CategoryType> categories, Map<Long, List<CategoryType>> childrenByParent) {
+        return categories.stream()
+                .sorted(Comparator.comparing(CategoryType::getId))
+                .map(category -> new Template(
+                        category.getName(),
+                        category.getType(),
+                        category.getDescription(),
+                        toTemplates(childrenByParent.getOrDefault(category.getId(), List.of()), childrenByParent)))
+                .toList();
+    }
+}
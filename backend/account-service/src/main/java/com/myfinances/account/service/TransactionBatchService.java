@@ -0,0 +1,311 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.dto.BatchTransactionDTO;
+import com.myfinances.account.dto.BatchTransactionDTO.Operation;
+import com.myfinances.account.dto.BatchTransactionResultDTO;
+import com.myfinances.account.dto.BatchTransactionResultDTO.ItemResult;
+import com.myfinances.account.dto.BatchTransactionResultDTO.Status;
+import com.myfinances.account.dto.CreateTransactionDTO;
+import com.myfinances.account.dto.UpdateTransactionDTO;
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
+import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.repository.TransactionBatchWriter;
+import com.myfinances.account.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ⭐ Aplica lotes mixtos de altas, modificaciones y bajas en una sola transacción
+ *
+ * - Transacciones y categorías referenciadas se cargan con una consulta cada una
+ * - Todas las operaciones se validan antes de escribir: si alguna falla no se aplica ninguna
+ * - Altas por INSERT JDBC en lote, modificaciones agrupadas por Hibernate, bajas en un solo DELETE
+ * - Los agregados mensuales se actualizan una vez por (mes, tipo, categoría) y el balance con un solo UPDATE
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TransactionBatchService {
+
+    private static final int JDBC_BATCH_SIZE = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionBatchWriter batchWriter;
+    private final TransactionService transactionService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserBalanceService userBalanceService;
+    private final DailyLedgerService dailyLedgerService;
+    private final TransactionSearchIndex searchIndex;
+    private final UserDataVersionService dataVersions;
+    private final EntityManager entityManager;
+
+    public BatchTransactionResultDTO apply(UUID userId, BatchTransactionDTO request) {
+        List<Operation> operations = request.getOperations();
+
+        Map<Long, Transaction> transactions = transactionRepository.findAllById(referencedTransactionIds(operations))
+                .stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        Map<Long, CategoryType> categories = categoryRepository.findAllById(referencedCategoryIds(operations))
+                .stream()
+                .collect(Collectors.toMap(CategoryType::getId, Function.identity()));
+
+        // ==================== VALIDACIÓN ====================
+
+        List<String> errors = new ArrayList<>(operations.size());
+        Set<Long> seenIds = new HashSet<>();
+        for (Operation operation : operations) {
+            errors.add(validate(userId, operation, transactions, categories, seenIds));
+        }
+
+        if (errors.stream().anyMatch(Objects::nonNull)) {
+            return rejected(operations, errors);
+        }
+
+        // ==================== APLICACIÓN ====================
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(JDBC_BATCH_SIZE);
+        MonthlyRollupService.PendingRollups rollups = monthlyRollupService.pending(userId);
+        UserBalanceService.PendingBalance balance = userBalanceService.pending(userId);
+        DailyLedgerService.PendingLedger ledger = dailyLedgerService.pending(userId);
+
+        List<Transaction> created = new ArrayList<>();
+        List<Transaction> deleted = new ArrayList<>();
+        Transaction[] touched = new Transaction[operations.size()];
+
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    Transaction transaction = newTransaction(userId, operation.getCreate(), categories);
+                    created.add(transaction);
+                    TransactionSnapshot snapshot = TransactionSnapshot.of(transaction);
+                    rollups.add(snapshot);
+                    balance.add(snapshot);
+                    ledger.add(snapshot);
+                    touched[i] = transaction;
+                }
+                case UPDATE -> {
+                    Transaction transaction = transactions.get(operation.getId());
+                    TransactionSnapshot before = TransactionSnapshot.of(transaction);
+                    applyUpdate(transaction, operation.getUpdate(), categories);
+                    TransactionSnapshot after = TransactionSnapshot.of(transaction);
+                    rollups.remove(before);
+                    rollups.add(after);
+                    balance.remove(before);
+                    balance.add(after);
+                    ledger.remove(before);
+                    ledger.add(after);
+                    touched[i] = transaction;
+                }
+                case DELETE -> {
+                    Transaction transaction = transactions.get(operation.getId());
+                    deleted.add(transaction);
+                    TransactionSnapshot snapshot = TransactionSnapshot.of(transaction);
+                    rollups.remove(snapshot);
+                    balance.remove(snapshot);
+                    ledger.remove(snapshot);
+                    touched[i] = transaction;
+                }
+            }
+        }
+
+        batchWriter.insertAllReturningIds(created);
+        transactionRepository.flush(); // UPDATEs agrupados por Hibernate
+        if (!deleted.isEmpty()) {
+            transactionRepository.deleteAllInBatch(deleted);
+        }
+        userBalanceService.applyPending(balance);
+        monthlyRollupService.applyPending(rollups);
+        dailyLedgerService.applyPending(ledger);
+        dataVersions.bump(userId);
+        created.forEach(searchIndex::onSaved);
+        deleted.forEach(transaction -> searchIndex.onDeleted(userId, transaction.getId()));
+        for (int i = 0; i < operations.size(); i++) {
+            if (operations.get(i).getOp() == BatchTransactionDTO.OperationType.UPDATE) {
+                searchIndex.onSaved(touched[i]);
+            }
+        }
+
+        List<ItemResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            Transaction transaction = touched[i];
+            results.add(ItemResult.builder()
+                    .index(i)
+                    .clientRef(operation.getClientRef())
+                    .op(operation.getOp())
+                    .status(Status.OK)
+                    .id(transaction.getId())
+                    .transaction(operation.getOp() == BatchTransactionDTO.OperationType.DELETE
+                            ? null
+                            : transactionService.toResponseDTO(transaction))
+                    .build());
+        }
+
+        return BatchTransactionResultDTO.builder()
+                .applied(true)
+                .succeeded(operations.size())
+                .failed(0)
+                .results(results)
+                .build();
+    }
+
+    // ==================== VALIDACIÓN ====================
+
+    /**
+     * Devuelve el mensaje de error de la operación, o NULL si es válida
+     */
+    private String validate(UUID userId, Operation operation, Map<Long, Transaction> transactions,
+                            Map<Long, CategoryType> categories, Set<Long> seenIds) {
+        switch (operation.getOp()) {
+            case CREATE -> {
+                if (operation.getCreate() == null) {
+                    return "Falta el campo create";
+                }
+                return validateCategory(userId, operation.getCreate().getCategoryId(), categories);
+            }
+            case UPDATE -> {
+                if (operation.getUpdate() == null) {
+                    return "Falta el campo update";
+                }
+                String error = validateTarget(userId, operation.getId(), transactions, seenIds);
+                if (error == null && operation.getUpdate().getCategoryId() != null) {
+                    error = validateCategory(userId, operation.getUpdate().getCategoryId(), categories);
+                }
+                return error;
+            }
+            case DELETE -> {
+                return validateTarget(userId, operation.getId(), transactions, seenIds);
+            }
+            default -> {
+                return "Operación no soportada: " + operation.getOp();
+            }
+        }
+    }
+
+    private String validateTarget(UUID userId, Long id, Map<Long, Transaction> transactions, Set<Long> seenIds) {
+        if (id == null) {
+            return "Falta el ID de la transacción";
+        }
+        Transaction transaction = transactions.get(id);
+        if (transaction == null || !transaction.getUserId().equals(userId)) {
+            return "Transacción no encontrada con ID: " + id;
+        }
+        if (!seenIds.add(id)) {
+            return "La transacción " + id + " aparece más de una vez en el lote";
+        }
+        return null;
+    }
+
+    private String validateCategory(UUID userId, Long categoryId, Map<Long, CategoryType> categories) {
+        CategoryType category = categories.get(categoryId);
+        if (category == null) {
+            return "Categoría no encontrada";
+        }
+        if (category.getUserId() != null && !category.getUserId().equals(userId)) {
+            return "La categoría no te pertenece";
+        }
+        return null;
+    }
+
+    private BatchTransactionResultDTO rejected(List<Operation> operations, List<String> errors) {
+        List<ItemResult> results = new ArrayList<>(operations.size());
+        int failed = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            String error = errors.get(i);
+            if (error != null) {
+                failed++;
+            }
+            results.add(ItemResult.builder()
+                    .index(i)
+                    .clientRef(operation.getClientRef())
+                    .op(operation.getOp())
+                    .status(error != null ? Status.ERROR : Status.SKIPPED)
+                    .id(operation.getId())
+                    .error(error)
+                    .build());
+        }
+
+        return BatchTransactionResultDTO.builder()
+                .applied(false)
+                .succeeded(0)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
+
+    // ==================== APLICACIÓN ====================
+
+    private Transaction newTransaction(UUID userId, CreateTransactionDTO dto, Map<Long, CategoryType> categories) {
+        return Transaction.builder()
+                .userId(userId)
+                .description(dto.getDescription())
+                .amount(dto.getAmount())
+                .type(dto.getType())
+                .category(categories.get(dto.getCategoryId()))
+                .date(dto.getDate() != null ? dto.getDate() : LocalDateTime.now())
+                .notes(dto.getNotes())
+                .linkedToInvestment(dto.getLinkedToInvestment() != null ? dto.getLinkedToInvestment() : false)
+                .investmentId(dto.getInvestmentId())
+                .build();
+    }
+
+    private void applyUpdate(Transaction transaction, UpdateTransactionDTO dto, Map<Long, CategoryType> categories) {
+        if (dto.getDescription() != null) {
+            transaction.setDescription(dto.getDescription());
+        }
+        if (dto.getAmount() != null) {
+            transaction.setAmount(dto.getAmount());
+        }
+        if (dto.getType() != null) {
+            transaction.setType(dto.getType());
+        }
+        if (dto.getCategoryId() != null) {
+            transaction.setCategory(categories.get(dto.getCategoryId()));
+        }
+        if (dto.getDate() != null) {
+            transaction.setDate(dto.getDate());
+        }
+        if (dto.getNotes() != null) {
+            transaction.setNotes(dto.getNotes());
+        }
+    }
+
+    private Set<Long> referencedTransactionIds(List<Operation> operations) {
+        return operations.stream()
+                .map(Operation::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<Long> referencedCategoryIds(List<Operation> operations) {
+        Set<Long> ids = new HashSet<>();
+        for (Operation operation : operations) {
+            if (operation.getCreate() != null && operation.getCreate().getCategoryId() != null) {
+                ids.add(operation.getCreate().getCategoryId());
+            }
+            if (operation.getUpdate() != null && operation.getUpdate().getCategoryId() != null) {
+                ids.add(operation.getUpdate().getCategoryId());
+            }
+        }
+        return ids;
+    }
+}
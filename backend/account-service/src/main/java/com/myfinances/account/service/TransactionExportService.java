@@ -0,0 +1,139 @@
+package com.myfinances.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfinances.account.exception.BadRequestException;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * ⭐ Exporta el historial completo de transacciones de un usuario escribiendo fila por fila
+ * La memoria usada no depende de la cantidad de transacciones
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TransactionExportService {
+
+    private static final String CSV_HEADER =
+            "id,date,type,amount,categoryId,categoryName,description,notes,linkedToInvestment,investmentId";
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionService transactionService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Formatos de exportación soportados
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Formato de exportación no soportado: " + value);
+            }
+        }
+    }
+
+    /**
+     * Escribe todas las transacciones del usuario (orden cronológico) en el stream de salida
+     * Cada entidad se desvincula del contexto de persistencia después de escribirse
+     */
+    public void export(UUID userId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<Transaction> transactions = transactionRepository.streamByUserId(userId)) {
+            transactions.forEach(transaction -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeCsvRow(writer, transaction);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(transactionService.toResponseDTO(transaction)));
+                    }
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(transaction);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Transaction transaction) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(transaction.getDate()));
+        writer.write(',');
+        writer.write(transaction.getType().name());
+        writer.write(',');
+        writer.write(transaction.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(transaction.getCategory() != null ? String.valueOf(transaction.getCategory().getId()) : "");
+        writer.write(',');
+        writer.write(csv(transaction.getCategory() != null ? transaction.getCategory().getName() : null));
+        writer.write(',');
+        writer.write(csv(transaction.getDescription()));
+        writer.write(',');
+        writer.write(csv(transaction.getNotes()));
+        writer.write(',');
+        writer.write(String.valueOf(Boolean.TRUE.equals(transaction.getLinkedToInvestment())));
+        writer.write(',');
+        writer.write(transaction.getInvestmentId() != null ? String.valueOf(transaction.getInvestmentId()) : "");
+    }
+
+    /**
+     * Escapa un campo de texto según RFC 4180
+     */
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
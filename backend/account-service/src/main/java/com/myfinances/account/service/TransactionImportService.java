@@ -0,0 +1,340 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.dto.ImportResultDTO;
+import com.myfinances.account.exception.BadRequestException;
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.repository.TransactionBatchWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ⭐ Importación masiva de transacciones desde un extracto bancario CSV
+ *
+ * - El archivo se lee registro por registro (no se materializa en memoria)
+ * - Las categorías del usuario se cargan una sola vez y se validan contra ese mapa
+ * - Los INSERT van por JDBC en lotes de BATCH_SIZE filas (un round trip por lote)
+ * - Los agregados mensuales, el balance y el libro diario del usuario se actualizan una vez al final
+ *
+ * La importación es todo o nada: cualquier fila inválida revierte el lote completo
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TransactionImportService {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 100;
+    private static final int MAX_NOTES_LENGTH = 500;
+    private static final int MAX_INTEGER_DIGITS = 10;
+
+    private final TransactionBatchWriter batchWriter;
+    private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserBalanceService userBalanceService;
+    private final DailyLedgerService dailyLedgerService;
+    private final TransactionSearchIndex searchIndex;
+    private final UserDataVersionService dataVersions;
+
+    /**
+     * Importa un CSV con encabezado. Columnas reconocidas (sin distinguir mayúsculas):
+     * date/fecha, description/descripcion, amount/monto, type/tipo (opcional),
+     * category/categoria (ID o nombre), categoryId, categoryName, notes/notas (opcional)
+     * Sin columna de tipo, un monto negativo es EXPENSE y uno positivo INCOME
+     */
+    public ImportResultDTO importCsv(UUID userId, InputStream in, char separator) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), separator);
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new BadRequestException("El archivo está vacío");
+        }
+        Columns columns = Columns.of(header);
+        CategoryLookup categories = loadCategories(userId);
+        MonthlyRollupService.PendingRollups rollups = monthlyRollupService.pending(userId);
+        UserBalanceService.PendingBalance balance = userBalanceService.pending(userId);
+        DailyLedgerService.PendingLedger ledger = dailyLedgerService.pending(userId);
+        ImportStats stats = new ImportStats();
+
+        List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            TransactionSnapshot row = parse(userId, record, columns, categories, reader.getRecordNumber(), batch);
+            rollups.add(row);
+            balance.add(row);
+            ledger.add(row);
+            stats.add(row);
+
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+
+        userBalanceService.applyPending(balance);
+        monthlyRollupService.applyPending(rollups);
+        dailyLedgerService.applyPending(ledger);
+        dataVersions.bump(userId);
+        searchIndex.invalidate(userId); // Los INSERT JDBC no devuelven IDs: se reconstruye en la próxima búsqueda
+        log.info("Importadas {} transacciones para usuario {}", stats.imported, userId);
+        return stats.toResult();
+    }
+
+    private TransactionSnapshot parse(UUID userId, List<String> record, Columns columns, CategoryLookup categories,
+                                      long recordNumber, List<Transaction> batch) {
+        String description = required(columns.value(record, columns.description), "descripción", recordNumber);
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw rowError(recordNumber, "la descripción no puede exceder los " + MAX_DESCRIPTION_LENGTH + " caracteres");
+        }
+
+        String notes = columns.value(record, columns.notes);
+        if (notes != null && notes.length() > MAX_NOTES_LENGTH) {
+            throw rowError(recordNumber, "las notas no pueden exceder los " + MAX_NOTES_LENGTH + " caracteres");
+        }
+
+        BigDecimal signedAmount = parseAmount(required(columns.value(record, columns.amount), "monto", recordNumber), recordNumber);
+        TransactionType type = parseType(columns.value(record, columns.type), signedAmount, recordNumber);
+        BigDecimal amount = signedAmount.abs();
+        if (amount.signum() == 0) {
+            throw rowError(recordNumber, "el monto debe ser mayor a 0");
+        }
+
+        LocalDateTime date = parseDate(required(columns.value(record, columns.date), "fecha", recordNumber), recordNumber);
+        CategoryType category = categories.resolve(
+                columns.value(record, columns.categoryId), columns.value(record, columns.categoryName), recordNumber);
+
+        batch.add(Transaction.builder()
+                .userId(userId)
+                .description(description)
+                .amount(amount)
+                .type(type)
+                .category(category)
+                .date(date)
+                .notes(notes)
+                .linkedToInvestment(false)
+                .build());
+        return new TransactionSnapshot(userId, type, category.getId(), amount, date);
+    }
+
+    private void flush(List<Transaction> batch) {
+        batchWriter.insertAll(batch);
+        batch.clear();
+    }
+
+    // ==================== PARSEO DE CAMPOS ====================
+
+    private BigDecimal parseAmount(String value, long recordNumber) {
+        try {
+            BigDecimal amount = new BigDecimal(value).setScale(2, RoundingMode.UNNECESSARY);
+            if (amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+                throw rowError(recordNumber, "el monto debe tener máximo " + MAX_INTEGER_DIGITS + " dígitos enteros");
+            }
+            return amount;
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw rowError(recordNumber, "monto inválido: " + value);
+        }
+    }
+
+    private TransactionType parseType(String value, BigDecimal signedAmount, long recordNumber) {
+        if (value == null) {
+            return signedAmount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        }
+        try {
+            return TransactionType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw rowError(recordNumber, "tipo inválido: " + value);
+        }
+    }
+
+    private LocalDateTime parseDate(String value, long recordNumber) {
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw rowError(recordNumber, "fecha inválida: " + value);
+        }
+    }
+
+    private String required(String value, String field, long recordNumber) {
+        if (value == null) {
+            throw rowError(recordNumber, "falta " + field);
+        }
+        return value;
+    }
+
+    private static BadRequestException rowError(long recordNumber, String message) {
+        return new BadRequestException("Fila " + recordNumber + ": " + message);
+    }
+
+    // ==================== CATEGORÍAS ====================
+
+    /**
+     * Carga una vez las categorías del usuario y las del sistema
+     */
+    private CategoryLookup loadCategories(UUID userId) {
+        CategoryLookup lookup = new CategoryLookup();
+        categoryRepository.findByIsSystemTrue().forEach(lookup::put);
+        categoryRepository.findByUserId(userId).forEach(lookup::put); // Las del usuario pisan nombres del sistema
+        return lookup;
+    }
+
+    private static final class CategoryLookup {
+
+        private final Map<Long, CategoryType> byId = new HashMap<>();
+        private final Map<String, CategoryType> byName = new HashMap<>();
+
+        void put(CategoryType category) {
+            byId.put(category.getId(), category);
+            byName.put(category.getName().toLowerCase(Locale.ROOT), category);
+        }
+
+        /**
+         * Resuelve por ID si la columna es numérica, si no por nombre
+         */
+        CategoryType resolve(String id, String name, long recordNumber) {
+            String value = id != null ? id : name;
+            if (value == null) {
+                throw rowError(recordNumber, "falta categoría");
+            }
+
+            CategoryType category = null;
+            if (isNumeric(value)) {
+                category = byId.get(Long.parseLong(value));
+            }
+            if (category == null) {
+                category = byName.get(value.toLowerCase(Locale.ROOT));
+            }
+            if (category == null) {
+                throw rowError(recordNumber, "categoría no encontrada: " + value);
+            }
+            return category;
+        }
+
+        private static boolean isNumeric(String value) {
+            if (value.length() > 18) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                if (!Character.isDigit(value.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // ==================== COLUMNAS ====================
+
+    private static final class Columns {
+
+        private int date = -1;
+        private int description = -1;
+        private int amount = -1;
+        private int type = -1;
+        private int categoryId = -1;
+        private int categoryName = -1;
+        private int notes = -1;
+
+        static Columns of(List<String> header) {
+            Columns columns = new Columns();
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "date", "fecha" -> columns.date = i;
+                    case "description", "descripcion", "descripción" -> columns.description = i;
+                    case "amount", "monto", "importe" -> columns.amount = i;
+                    case "type", "tipo" -> columns.type = i;
+                    case "categoryid" -> columns.categoryId = i;
+                    case "category", "categoryname", "categoria", "categoría" -> columns.categoryName = i;
+                    case "notes", "notas" -> columns.notes = i;
+                    default -> {
+                        // Columnas desconocidas se ignoran (p. ej. id o investmentId de una exportación)
+                    }
+                }
+            }
+
+            if (columns.date < 0 || columns.description < 0 || columns.amount < 0
+                    || (columns.categoryId < 0 && columns.categoryName < 0)) {
+                throw new BadRequestException(
+                        "El encabezado debe incluir las columnas date, description, amount y category");
+            }
+            return columns;
+        }
+
+        /**
+         * Valor recortado de la columna, o NULL si no existe o está vacío
+         */
+        String value(List<String> record, int index) {
+            if (index < 0 || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    // ==================== RESULTADO ====================
+
+    private static final class ImportStats {
+
+        private long imported;
+        private long incomeCount;
+        private long expenseCount;
+        private BigDecimal totalIncome = BigDecimal.ZERO;
+        private BigDecimal totalExpense = BigDecimal.ZERO;
+        private LocalDateTime firstDate;
+        private LocalDateTime lastDate;
+
+        void add(TransactionSnapshot row) {
+            imported++;
+            if (row.type() == TransactionType.INCOME) {
+                incomeCount++;
+                totalIncome = totalIncome.add(row.amount());
+            } else {
+                expenseCount++;
+                totalExpense = totalExpense.add(row.amount());
+            }
+            if (firstDate == null || row.date().isBefore(firstDate)) {
+                firstDate = row.date();
+            }
+            if (lastDate == null || row.date().isAfter(lastDate)) {
+                lastDate = row.date();
+            }
+        }
+
+        ImportResultDTO toResult() {
+            return ImportResultDTO.builder()
+                    .imported(imported)
+                    .incomeCount(incomeCount)
+                    .expenseCount(expenseCount)
+                    .totalIncome(totalIncome)
+                    .totalExpense(totalExpense)
+                    .firstDate(firstDate)
+                    .lastDate(lastDate)
+                    .build();
+        }
+    }
+}
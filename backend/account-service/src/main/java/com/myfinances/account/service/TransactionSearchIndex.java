@@ -0,0 +1,390 @@
+package com.myfinances.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.projection.TransactionTextView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * ⭐ Índice invertido en memoria sobre description y notes, uno por usuario
+ *
+ * - Se construye en la primera búsqueda del usuario (lectura en streaming) y queda en caché acotada por la
+ *   cantidad total de transacciones indexadas (el tamaño de un índice depende de su historial, no del usuario)
+ * - Se actualiza de forma incremental después del commit de cada alta, modificación o baja
+ * - Búsqueda por términos (AND) con coincidencia exacta, por prefijo y tolerante a errores de tipeo
+ *   (distancia de edición 1, o 2 en palabras de 8+ letras, candidatos filtrados por trigramas)
+ * - Ranking: exacta > prefijo > aproximada; descripción pesa el doble que las notas; empate → más reciente
+ */
+@Component
+@Slf4j
+public class TransactionSearchIndex {
+
+    public static final String CACHE_NAME = "transactionSearch";
+
+    private static final int DESCRIPTION_WEIGHT = 2;
+    private static final int NOTES_WEIGHT = 1;
+
+    private static final double EXACT_SCORE = 3.0;
+    private static final double PREFIX_SCORE = 2.0;
+    private static final double FUZZY_SCORE = 1.0;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int LONG_TERM_LENGTH = 8;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final TransactionRepository transactionRepository;
+    private final Cache<UUID, UserIndex> indexes;
+    private final SingleFlightLoader<UUID, UserIndex> loader;
+
+    public TransactionSearchIndex(
+            TransactionRepository transactionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${account.search.max-documents:500000}") long maxDocuments,
+            @Value("${account.search.expire-after-access:PT30M}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxDocuments)
+                .weigher((UUID userId, UserIndex index) -> Math.max(1, index.size()))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        this.loader = new SingleFlightLoader<>(indexes);
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, CACHE_NAME);
+    }
+
+    /**
+     * Resultado ordenado por relevancia
+     */
+    public record Hit(Long transactionId, double score) {
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    /**
+     * IDs de las transacciones que coinciden con todos los términos de la consulta, por relevancia
+     * Debe llamarse dentro de una transacción (la primera búsqueda del usuario lee la base en streaming)
+     */
+    public List<Hit> search(UUID userId, String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return loader.get(userId, this::build).search(terms, limit);
+    }
+
+    // ==================== ACTUALIZACIÓN INCREMENTAL ====================
+
+    /**
+     * Indexa (o reindexa) una transacción después del commit
+     */
+    public void onSaved(Transaction transaction) {
+        Document document = Document.of(transaction.getDescription(), transaction.getNotes(), transaction.getDate());
+        Long id = transaction.getId();
+        afterCommit(transaction.getUserId(), index -> index.put(id, document));
+    }
+
+    /**
+     * Quita una transacción del índice después del commit
+     */
+    public void onDeleted(UUID userId, Long transactionId) {
+        afterCommit(userId, index -> index.remove(transactionId));
+    }
+
+    /**
+     * Descarta el índice del usuario después del commit (cambios masivos); se reconstruye en la próxima búsqueda
+     */
+    public void invalidate(UUID userId) {
+        runAfterCommit(() -> loader.afterLoad(userId, () -> indexes.invalidate(userId)));
+    }
+
+    /**
+     * Solo se actualizan índices ya construidos (esperando el que se esté construyendo); las operaciones son
+     * idempotentes, por lo que aplicarlas sobre un índice que ya leyó el cambio de la base no lo altera
+     */
+    private void afterCommit(UUID userId, Consumer<UserIndex> change) {
+        runAfterCommit(() -> loader.afterLoad(userId, () -> indexes.asMap().computeIfPresent(userId, (key, index) -> {
+            change.accept(index);
+            return index;
+        })));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private UserIndex build(UUID userId) {
+        long start = System.nanoTime();
+        UserIndex index = new UserIndex();
+        try (Stream<TransactionTextView> rows = transactionRepository.streamTextByUserId(userId)) {
+            rows.forEach(row -> index.put(row.getId(), Document.of(row.getDescription(), row.getNotes(), row.getDate())));
+        }
+        log.info("Índice de búsqueda construido para usuario {}: {} transacciones, {} términos en {} ms",
+                userId, index.documents.size(), index.postings.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    // ==================== TEXTO ====================
+
+    /**
+     * Minúsculas, sin acentos, separado por cualquier carácter que no sea letra o dígito
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = "^" + term + "$";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Distancia de edición (Damerau restringida), cortando apenas supera maxDistance
+     */
+    static int editDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    // ==================== ESTRUCTURAS ====================
+
+    /**
+     * Términos de una transacción con su peso (el mayor entre descripción y notas) y la fecha para desempates
+     */
+    private record Document(Map<String, Integer> terms, LocalDateTime date) {
+
+        static Document of(String description, String notes, LocalDateTime date) {
+            Map<String, Integer> terms = new HashMap<>();
+            tokenize(notes).forEach(term -> terms.merge(term, NOTES_WEIGHT, Math::max));
+            tokenize(description).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Math::max));
+            return new Document(Map.copyOf(terms), date);
+        }
+    }
+
+    private static final class UserIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+        /**
+         * Transacciones indexadas (peso en la caché; se recalcula en cada actualización incremental)
+         */
+        int size() {
+            lock.readLock().lock();
+            try {
+                return documents.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(Long id, Document document) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+                documents.put(id, document);
+                document.terms().forEach((term, weight) -> {
+                    Map<Long, Integer> posting = postings.get(term);
+                    if (posting == null) {
+                        posting = new HashMap<>();
+                        postings.put(term, posting);
+                        for (String trigram : trigrams(term)) {
+                            termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+                        }
+                    }
+                    posting.put(id, weight);
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeUnlocked(Long id) {
+            Document previous = documents.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.terms().keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                    for (String trigram : trigrams(term)) {
+                        Set<String> terms = termsByTrigram.get(trigram);
+                        terms.remove(term);
+                        if (terms.isEmpty()) {
+                            termsByTrigram.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Hit> search(List<String> queryTerms, int limit) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Double> scores = null;
+                for (String queryTerm : queryTerms) {
+                    Map<Long, Double> termScores = matches(queryTerm);
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        Map<Long, Double> combined = new HashMap<>();
+                        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                            Double score = termScores.get(entry.getKey());
+                            if (score != null) {
+                                combined.put(entry.getKey(), entry.getValue() + score);
+                            }
+                        }
+                        scores = combined;
+                    }
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+
+                Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(entry -> documents.get(entry.getKey()).date(), Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+
+                return scores.entrySet().stream()
+                        .sorted(ranking)
+                        .limit(limit)
+                        .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                        .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Mejor puntaje de cada transacción para un término de la consulta
+         */
+        private Map<Long, Double> matches(String queryTerm) {
+            Map<Long, Double> scores = new HashMap<>();
+
+            Map<Long, Integer> exact = postings.get(queryTerm);
+            if (exact != null) {
+                exact.forEach((id, weight) -> scores.merge(id, EXACT_SCORE * weight, Math::max));
+            }
+
+            if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+                postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false)
+                        .values()
+                        .forEach(posting -> posting.forEach((id, weight) ->
+                                scores.merge(id, PREFIX_SCORE * weight, Math::max)));
+            }
+
+            if (queryTerm.length() >= MIN_FUZZY_LENGTH) {
+                int maxDistance = queryTerm.length() >= LONG_TERM_LENGTH ? 2 : 1;
+                Set<String> candidates = new HashSet<>();
+                for (String trigram : trigrams(queryTerm)) {
+                    Set<String> terms = termsByTrigram.get(trigram);
+                    if (terms != null) {
+                        candidates.addAll(terms);
+                    }
+                }
+                for (String candidate : candidates) {
+                    if (!candidate.equals(queryTerm) && !candidate.startsWith(queryTerm)
+                            && editDistance(queryTerm, candidate, maxDistance) <= maxDistance) {
+                        postings.get(candidate).forEach((id, weight) ->
+                                scores.merge(id, FUZZY_SCORE * weight, Math::max));
+                    }
+                }
+            }
+            return scores;
+        }
+    }
+}
@@ -1,35 +1,55 @@
 package com.myfinances.account.service;
 
 import com.myfinances.account.dto.*;
+import com.myfinances.account.exception.BadRequestException;
 import com.myfinances.account.exception.ResourceNotFoundException;
 import com.myfinances.account.model.CategoryType;
 import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
 import com.myfinances.account.model.TransactionType;
-import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.model.UserBalance;
 import com.myfinances.account.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TransactionService {
 
-    private final TransactionRepository transactionRepository;
-    private final CategoryRepository categoryRepository;
+    /**
+     * Tamaño de página por defecto y máximo en los listados
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
 
+    private static final int RECENT_LIMIT = 10;
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryCache categoryCache;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserBalanceService userBalanceService;
+    private final DailyLedgerService dailyLedgerService;
+    private final MonthBoundaries monthBoundaries;
+    private final TransactionSearchIndex searchIndex;
+    private final UserDataVersionService dataVersions;
 
     /**
      * ⭐ Guarda una nueva transacción
      */
     public Transaction save(UUID userId, CreateTransactionDTO dto) {
-        CategoryType category = categoryRepository.findById(dto.getCategoryId())
+        CategoryType category = categoryCache.findById(userId, dto.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada"));
 
         // ⭐ Validar que la categoría pertenezca al usuario (o sea del sistema)
@@ -49,15 +69,22 @@ public class TransactionService {
                 .investmentId(dto.getInvestmentId())
                 .build();
 
-        return transactionRepository.save(transaction);
+        transaction = transactionRepository.save(transaction);
+        userBalanceService.onCreated(transaction);
+        monthlyRollupService.onCreated(transaction);
+        dailyLedgerService.onCreated(transaction);
+        dataVersions.bump(transaction.getUserId());
+        searchIndex.onSaved(transaction);
+        return transaction;
     }
 
     /**
-     * Obtiene todas las transacciones de un usuario
+     * Obtiene una página de transacciones de un usuario (más recientes primero)
      */
     @Transactional(readOnly = true)
-    public List<Transaction> findAll(UUID userId) {
-        return transactionRepository.findByUserId(userId);
+    public CursorPageDTO<TransactionResponseDTO> findPage(UUID userId, String cursor, int size) {
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        return toPage(transactionRepository.findPageByUserId(userId, after.date(), after.id(), limitFor(size)), size);
     }
 
     /**
@@ -80,6 +107,7 @@ public class TransactionService {
      */
     public Transaction update(UUID userId, Long id, UpdateTransactionDTO dto) {
         Transaction transaction = findById(userId, id);
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
 
         if (dto.getDescription() != null) {
             transaction.setDescription(dto.getDescription());
@@ -91,7 +119,7 @@ public class TransactionService {
             transaction.setType(dto.getType());
         }
         if (dto.getCategoryId() != null) {
-            CategoryType category = categoryRepository.findById(dto.getCategoryId())
+            CategoryType category = categoryCache.findById(userId, dto.getCategoryId())
                     .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada"));
             if (category.getUserId() != null && !category.getUserId().equals(userId)) {
                 throw new RuntimeException("La categoría no te pertenece");
@@ -105,7 +133,13 @@ public class TransactionService {
             transaction.setNotes(dto.getNotes());
         }
 
-        return transactionRepository.save(transaction);
+        transaction = transactionRepository.save(transaction);
+        userBalanceService.onUpdated(before, transaction);
+        monthlyRollupService.onUpdated(before, transaction);
+        dailyLedgerService.onUpdated(before, transaction);
+        dataVersions.bump(userId);
+        searchIndex.onSaved(transaction);
+        return transaction;
     }
 
     /**
@@ -114,97 +148,149 @@ public class TransactionService {
     public void delete(UUID userId, Long id) {
         Transaction transaction = findById(userId, id);
         transactionRepository.delete(transaction);
+        userBalanceService.onDeleted(transaction);
+        monthlyRollupService.onDeleted(transaction);
+        dailyLedgerService.onDeleted(transaction);
+        dataVersions.bump(userId);
+        searchIndex.onDeleted(userId, id);
     }
 
     /**
-     * Obtiene transacciones por tipo (INCOME/EXPENSE)
+     * Obtiene una página de transacciones por tipo (INCOME/EXPENSE)
      */
     @Transactional(readOnly = true)
-    public List<Transaction> findByType(UUID userId, TransactionType type) {
-        return transactionRepository.findByUserIdAndType(userId, type);
+    public CursorPageDTO<TransactionResponseDTO> findPageByType(UUID userId, TransactionType type, String cursor, int size) {
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        return toPage(transactionRepository.findPageByUserIdAndType(
+                userId, type, after.date(), after.id(), limitFor(size)), size);
     }
 
     /**
-     * Obtiene transacciones por categoría
+     * Obtiene una página de transacciones por categoría
      */
     @Transactional(readOnly = true)
-    public List<Transaction> findByCategory(UUID userId, Long categoryId) {
-        return transactionRepository.findByUserIdAndCategoryId(userId, categoryId);
+    public CursorPageDTO<TransactionResponseDTO> findPageByCategory(UUID userId, Long categoryId, String cursor, int size) {
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        return toPage(transactionRepository.findPageByUserIdAndCategoryId(
+                userId, categoryId, after.date(), after.id(), limitFor(size)), size);
     }
 
     /**
-     * Obtiene transacciones en un rango de fechas
+     * Obtiene una página de transacciones en un rango de fechas
      */
     @Transactional(readOnly = true)
-    public List<Transaction> findByDateRange(UUID userId, LocalDateTime startDate, LocalDateTime endDate) {
-        return transactionRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
+    public CursorPageDTO<TransactionResponseDTO> findPageByDateRange(UUID userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                          String cursor, int size) {
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        return toPage(transactionRepository.findPageByUserIdAndDateBetween(
+                userId, startDate, endDate, after.date(), after.id(), limitFor(size)), size);
     }
 
     /**
      * Obtiene las últimas 10 transacciones
      */
     @Transactional(readOnly = true)
-    public List<Transaction> findRecentTransactions(UUID userId) {
-        return transactionRepository.findTop10ByUserIdOrderByDateDesc(userId);
+    public List<TransactionResponseDTO> findRecentTransactions(UUID userId) {
+        return transactionRepository.findRecentByUserId(userId, Limit.of(RECENT_LIMIT));
     }
 
     /**
-     * Busca transacciones por descripción
+     * Busca transacciones por descripción y notas, ordenadas por relevancia
+     * Admite prefijos y errores de tipeo (ver TransactionSearchIndex)
      */
     @Transactional(readOnly = true)
-    public List<Transaction> searchByDescription(UUID userId, String keyword) {
-        return transactionRepository.findByUserIdAndDescriptionContainingIgnoreCase(userId, keyword);
+    public List<TransactionResponseDTO> searchByDescription(UUID userId, String keyword, Integer limit) {
+        int max = limit != null ? limit : DEFAULT_SEARCH_LIMIT;
+        if (max < 1 || max > MAX_PAGE_SIZE) {
+            throw new BadRequestException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+
+        List<TransactionSearchIndex.Hit> hits = searchIndex.search(userId, keyword, max);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TransactionResponseDTO> byId = transactionRepository
+                .findByUserIdAndIdIn(userId, hits.stream().map(TransactionSearchIndex.Hit::transactionId).toList())
+                .stream()
+                .collect(Collectors.toMap(TransactionResponseDTO::getId, Function.identity()));
+        return hits.stream()
+                .map(hit -> byId.get(hit.transactionId()))
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
-     * Obtiene transacciones de un mes específico
+     * Obtiene transacciones de un mes específico (en el timezone del usuario)
      */
     @Transactional(readOnly = true)
-    public List<Transaction> findByMonth(UUID userId, int year, int month) {
-        return transactionRepository.findByUserIdAndYearAndMonth(userId, year, month);
+    public List<TransactionResponseDTO> findByMonth(UUID userId, int year, int month) {
+        MonthRange range = monthBoundaries.of(userId, year, month);
+        return transactionRepository.findByUserIdInRange(userId, range.start(), range.end());
     }
 
     /**
      * Calcula el balance general (ingresos - gastos)
+     * Lee los totales mantenidos en user_balances (no recorre el historial)
      */
     @Transactional(readOnly = true)
     public BalanceDTO calculateBalance(UUID userId) {
-        BigDecimal totalIncome = transactionRepository.sumByUserIdAndType(userId, TransactionType.INCOME);
-        BigDecimal totalExpense = transactionRepository.sumByUserIdAndType(userId, TransactionType.EXPENSE);
-        BigDecimal balance = totalIncome.subtract(totalExpense);
-
-        Long incomeCount = transactionRepository.countByUserIdAndType(userId, TransactionType.INCOME);
-        Long expenseCount = transactionRepository.countByUserIdAndType(userId, TransactionType.EXPENSE);
+        UserBalance totals = userBalanceService.get(userId);
 
         return BalanceDTO.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .balance(balance)
-                .incomeTransactionCount(incomeCount)
-                .expenseTransactionCount(expenseCount)
+                .totalIncome(totals.getTotalIncome())
+                .totalExpense(totals.getTotalExpense())
+                .balance(totals.getTotalIncome().subtract(totals.getTotalExpense()))
+                .incomeTransactionCount(totals.getIncomeCount())
+                .expenseTransactionCount(totals.getExpenseCount())
                 .calculatedAt(LocalDateTime.now())
                 .build();
     }
 
     /**
      * Calcula el balance en un rango de fechas
+     * Usa el libro diario acumulado: dos búsquedas puntuales más la corrección de los extremos parciales
      */
     @Transactional(readOnly = true)
     public BalanceDTO calculateBalanceByDateRange(UUID userId, LocalDateTime startDate, LocalDateTime endDate) {
-        BigDecimal totalIncome = transactionRepository.sumByUserIdAndTypeAndDateBetween(userId, TransactionType.INCOME, startDate, endDate);
-        BigDecimal totalExpense = transactionRepository.sumByUserIdAndTypeAndDateBetween(userId, TransactionType.EXPENSE, startDate, endDate);
-        BigDecimal balance = totalIncome.subtract(totalExpense);
+        DailyLedgerService.Totals totals = dailyLedgerService.totalsBetween(userId, startDate, endDate);
 
         return BalanceDTO.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .balance(balance)
+                .totalIncome(totals.income())
+                .totalExpense(totals.expense())
+                .balance(totals.income().subtract(totals.expense()))
                 .periodStart(startDate)
                 .periodEnd(endDate)
                 .calculatedAt(LocalDateTime.now())
                 .build();
     }
 
+    // ==================== PAGINACIÓN ====================
+
+    /**
+     * Pide una fila extra para saber si hay página siguiente
+     */
+    private Limit limitFor(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    private CursorPageDTO<TransactionResponseDTO> toPage(List<TransactionResponseDTO> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<TransactionResponseDTO> items = hasMore ? rows.subList(0, size) : rows;
+
+        return CursorPageDTO.<TransactionResponseDTO>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? TransactionCursor.after(items.get(items.size() - 1)).encode() : null)
+                .build();
+    }
+
+    // ==================== MAPEO A DTOs ====================
+
     public TransactionResponseDTO toResponseDTO(Transaction transaction) {
         return TransactionResponseDTO.builder()
                 .id(transaction.getId())
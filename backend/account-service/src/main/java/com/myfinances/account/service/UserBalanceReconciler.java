@@ -0,0 +1,54 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.UserBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 🔄 Verifica periódicamente user_balances y monthly_rollups contra transactions y repara los desvíos
+ * Cada usuario se reconcilia en su propia transacción (bloqueo corto por fila)
+ * Antes registra el timezone actual de cada usuario (reconstruye sus agregados mensuales si cambió)
+ *
+ * Horario configurable con account.balance.reconcile-cron ("-" lo desactiva)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserBalanceReconciler {
+
+    private final UserBalanceService balanceService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserBalanceRepository balanceRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Scheduled(cron = "${account.balance.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        Set<UUID> userIds = new LinkedHashSet<>(balanceRepository.findAllUserIds());
+        userIds.addAll(transactionRepository.findDistinctUserIds());
+
+        int repaired = 0;
+        int repairedRollups = 0;
+        for (UUID userId : userIds) {
+            try {
+                monthlyRollupService.syncZone(userId);
+                if (balanceService.reconcile(userId)) {
+                    repaired++;
+                }
+                if (monthlyRollupService.reconcile(userId)) {
+                    repairedRollups++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Error reconciliando balance de usuario {}", userId, e);
+            }
+        }
+        log.info("Reconciliación de balances: {} usuarios verificados, {} balances y {} agregados mensuales reparados",
+                userIds.size(), repaired, repairedRollups);
+    }
+}
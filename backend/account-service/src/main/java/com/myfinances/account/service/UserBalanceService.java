@@ -0,0 +1,210 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.model.UserBalance;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.UserBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * ⭐ Mantiene la tabla user_balances (usuario → ingresos, gastos, cantidades, versión)
+ *
+ * - Cada escritura de transacciones aplica su delta con un UPDATE atómico en la misma transacción
+ * - Si el usuario todavía no tiene fila se siembra desde transactions (que ya incluye la escritura en curso)
+ *   con INSERT ... ON CONFLICT DO NOTHING: dos primeras escrituras concurrentes no chocan por la clave
+ * - La lectura del balance es una búsqueda por clave primaria y no escribe
+ * - UserBalanceReconciler verifica periódicamente contra transactions y repara desvíos
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class UserBalanceService {
+
+    private final UserBalanceRepository balanceRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserDataVersionService dataVersions;
+
+    // ==================== MANTENIMIENTO INCREMENTAL ====================
+
+    /**
+     * Registra una transacción nueva
+     */
+    public void onCreated(Transaction transaction) {
+        PendingBalance pending = pending(transaction.getUserId());
+        pending.add(TransactionSnapshot.of(transaction));
+        applyPending(pending);
+    }
+
+    /**
+     * Mueve el monto si la transacción cambió de tipo o de monto
+     */
+    public void onUpdated(TransactionSnapshot before, Transaction transaction) {
+        PendingBalance pending = pending(transaction.getUserId());
+        pending.remove(before);
+        pending.add(TransactionSnapshot.of(transaction));
+        applyPending(pending);
+    }
+
+    /**
+     * Descuenta una transacción eliminada
+     */
+    public void onDeleted(Transaction transaction) {
+        PendingBalance pending = pending(transaction.getUserId());
+        pending.remove(TransactionSnapshot.of(transaction));
+        applyPending(pending);
+    }
+
+    /**
+     * Aplica los deltas acumulados de una operación (un solo UPDATE)
+     * Sin fila todavía: se siembra desde transactions; si otra escritura la sembró primero, se suma el delta
+     */
+    public void applyPending(PendingBalance pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (increment(pending) == 0 && !insertIfAbsent(compute(pending.userId, 0))) {
+            increment(pending);
+        }
+    }
+
+    private int increment(PendingBalance pending) {
+        return balanceRepository.increment(pending.userId, pending.income, pending.expense,
+                pending.incomeCount, pending.expenseCount, LocalDateTime.now());
+    }
+
+    private boolean insertIfAbsent(UserBalance balance) {
+        return balanceRepository.insertIfAbsent(balance.getUserId(), balance.getTotalIncome(), balance.getTotalExpense(),
+                balance.getIncomeCount(), balance.getExpenseCount(), balance.getVersion(), balance.getUpdatedAt()) > 0;
+    }
+
+    /**
+     * Bloquea la fila del usuario hasta el fin de la transacción (la crea si no existe)
+     * Serializa las escrituras de un mismo usuario sobre tablas derivadas que no tienen una fila única para
+     * bloquear, como daily_ledger, y con el cambio de timezone de monthly_rollups. Se llama después de
+     * applyPending: si la fila no existía, transactions ya incluye la escritura en curso y el balance sembrado
+     * es correcto
+     */
+    public void lock(UUID userId) {
+        if (balanceRepository.findForUpdate(userId).isEmpty() && !insertIfAbsent(compute(userId, 0))) {
+            balanceRepository.findForUpdate(userId);
+        }
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Balance histórico del usuario
+     * Un usuario sin fila (nunca escribió desde que existe la tabla) se calcula desde transactions sin guardarlo:
+     * la fila la crea su próxima escritura o la reconciliación
+     */
+    @Transactional(readOnly = true)
+    public UserBalance get(UUID userId) {
+        return balanceRepository.findById(userId)
+                .orElseGet(() -> compute(userId, 0));
+    }
+
+    // ==================== RECONCILIACIÓN ====================
+
+    /**
+     * 🔄 Compara el balance guardado con transactions y lo corrige si hay diferencias
+     * La fila queda bloqueada mientras tanto, así ningún delta concurrente se pierde
+     * Devuelve true si hubo que reparar
+     */
+    public boolean reconcile(UUID userId) {
+        UserBalance stored = balanceRepository.findForUpdate(userId).orElse(null);
+        if (stored == null) {
+            insertIfAbsent(compute(userId, 0));
+            return false;
+        }
+
+        UserBalance expected = compute(userId, stored.getVersion() + 1);
+        if (stored.getTotalIncome().compareTo(expected.getTotalIncome()) == 0
+                && stored.getTotalExpense().compareTo(expected.getTotalExpense()) == 0
+                && stored.getIncomeCount() == expected.getIncomeCount()
+                && stored.getExpenseCount() == expected.getExpenseCount()) {
+            return false;
+        }
+
+        log.warn("Balance desviado para usuario {}: guardado ingresos={} ({}) gastos={} ({}), real ingresos={} ({}) gastos={} ({})",
+                userId, stored.getTotalIncome(), stored.getIncomeCount(), stored.getTotalExpense(), stored.getExpenseCount(),
+                expected.getTotalIncome(), expected.getIncomeCount(), expected.getTotalExpense(), expected.getExpenseCount());
+        stored.setTotalIncome(expected.getTotalIncome());
+        stored.setTotalExpense(expected.getTotalExpense());
+        stored.setIncomeCount(expected.getIncomeCount());
+        stored.setExpenseCount(expected.getExpenseCount());
+        stored.setVersion(expected.getVersion());
+        stored.setUpdatedAt(expected.getUpdatedAt());
+        dataVersions.bump(userId);
+        return true;
+    }
+
+    /**
+     * Balance calculado desde cero a partir de transactions
+     */
+    private UserBalance compute(UUID userId, long version) {
+        return UserBalance.builder()
+                .userId(userId)
+                .totalIncome(transactionRepository.sumByUserIdAndType(userId, TransactionType.INCOME))
+                .totalExpense(transactionRepository.sumByUserIdAndType(userId, TransactionType.EXPENSE))
+                .incomeCount(transactionRepository.countByUserIdAndType(userId, TransactionType.INCOME))
+                .expenseCount(transactionRepository.countByUserIdAndType(userId, TransactionType.EXPENSE))
+                .version(version)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // ==================== ACUMULACIÓN EN MEMORIA ====================
+
+    /**
+     * Acumulador de deltas de un usuario aún no persistidos
+     */
+    public PendingBalance pending(UUID userId) {
+        return new PendingBalance(userId);
+    }
+
+    public static final class PendingBalance {
+
+        private final UUID userId;
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+        private long incomeCount;
+        private long expenseCount;
+
+        private PendingBalance(UUID userId) {
+            this.userId = userId;
+        }
+
+        public void add(TransactionSnapshot snapshot) {
+            accumulate(snapshot, 1);
+        }
+
+        public void remove(TransactionSnapshot snapshot) {
+            accumulate(snapshot, -1);
+        }
+
+        private void accumulate(TransactionSnapshot snapshot, int sign) {
+            BigDecimal amount = sign > 0 ? snapshot.amount() : snapshot.amount().negate();
+            if (snapshot.type() == TransactionType.INCOME) {
+                income = income.add(amount);
+                incomeCount += sign;
+            } else {
+                expense = expense.add(amount);
+                expenseCount += sign;
+            }
+        }
+
+        boolean isEmpty() {
+            return income.signum() == 0 && expense.signum() == 0 && incomeCount == 0 && expenseCount == 0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.myfinances.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ⭐ Versión de los datos de cada usuario (transacciones y categorías)
+ *
+ * - Cambia después del commit de cada escritura: una lectura que obtuvo la versión antes de calcular
+ *   nunca guarda datos viejos bajo una versión nueva
+ * - Todas las versiones salen de un contador global creciente (inicializado con el reloj en microsegundos),
+ *   así nunca se repiten, ni entre usuarios ni después de un reinicio
+ * - Las categorías del sistema tienen su propia versión; la de un usuario es la mayor de ambas
+ * - Si un usuario se desaloja de la memoria recibe una versión nueva (a lo sumo provoca un recálculo)
+ */
+@Service
+public class UserDataVersionService {
+
+    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicLong systemVersion = new AtomicLong(counter.incrementAndGet());
+    private final Cache<UUID, Long> versions;
+
+    public UserDataVersionService(@Value("${account.data-version.max-users:100000}") long maxUsers) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /**
+     * Versión actual de los datos visibles para el usuario
+     */
+    public long current(UUID userId) {
+        long userVersion = versions.get(userId, key -> counter.incrementAndGet());
+        return Math.max(userVersion, systemVersion.get());
+    }
+
+    /**
+     * Asigna una versión nueva después del commit (NULL = categorías del sistema, afecta a todos los usuarios)
+     */
+    public void bump(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpNow(userId);
+                }
+            });
+        } else {
+            bumpNow(userId);
+        }
+    }
+
+    private void bumpNow(UUID userId) {
+        long next = counter.incrementAndGet();
+        if (userId == null) {
+            systemVersion.set(next);
+        } else {
+            versions.put(userId, next);
+        }
+    }
+}
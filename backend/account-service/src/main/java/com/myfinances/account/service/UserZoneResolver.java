@@ -0,0 +1,94 @@
+package com.myfinances.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfinances.account.client.UserServiceClient;
+import com.myfinances.account.repository.UserTimezoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resuelve el timezone de un usuario (UserSettings.timezone en user-service)
+ * Cachea solo las respuestas de user-service; si no responde se usa el último timezone conocido
+ * (user_timezones) o el default, sin cachearlo: el próximo request vuelve a consultar
+ */
+@Service
+@Slf4j
+public class UserZoneResolver {
+
+    private final UserServiceClient userServiceClient;
+    private final UserTimezoneRepository timezoneRepository;
+    private final ZoneId defaultZone;
+    private final ZoneId storageZone;
+    private final Cache<UUID, ZoneId> zones = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+    private final SingleFlightLoader<UUID, ZoneId> loader = new SingleFlightLoader<>(zones);
+
+    public UserZoneResolver(
+            UserServiceClient userServiceClient,
+            UserTimezoneRepository timezoneRepository,
+            @Value("${account.timezone.default-zone:America/Argentina/Buenos_Aires}") String defaultZone,
+            @Value("${account.timezone.storage-zone:}") String storageZone) {
+        this.userServiceClient = userServiceClient;
+        this.timezoneRepository = timezoneRepository;
+        this.defaultZone = ZoneId.of(defaultZone);
+        this.storageZone = storageZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(storageZone);
+    }
+
+    /**
+     * Timezone del usuario; si user-service no responde, el último conocido o el default
+     */
+    public ZoneId zoneOf(UUID userId) {
+        ZoneId zone = reportedZoneOf(userId);
+        return zone != null ? zone : lastKnownZoneOf(userId);
+    }
+
+    /**
+     * Timezone según user-service, o NULL si no respondió
+     */
+    public ZoneId reportedZoneOf(UUID userId) {
+        return loader.get(userId, this::fetchZone);
+    }
+
+    /**
+     * Último timezone registrado para los agregados del usuario, o el default
+     */
+    public ZoneId lastKnownZoneOf(UUID userId) {
+        return timezoneRepository.findZone(userId).map(ZoneId::of).orElse(defaultZone);
+    }
+
+    public ZoneId defaultZone() {
+        return defaultZone;
+    }
+
+    /**
+     * Timezone en el que se guardan las fechas (LocalDateTime) de las transacciones
+     */
+    public ZoneId storageZone() {
+        return storageZone;
+    }
+
+    private ZoneId fetchZone(UUID userId) {
+        try {
+            Map<String, Object> profile = userServiceClient.getProfile(userId);
+            Object timezone = profile != null ? profile.get("timezone") : null;
+            return timezone != null ? ZoneId.of(timezone.toString()) : defaultZone;
+        } catch (DateTimeException e) {
+            // Respuesta de user-service: se cachea como el default
+            log.warn("Timezone inválido para usuario {}: {}", userId, e.getMessage());
+            return defaultZone;
+        } catch (Exception e) {
+            log.warn("No se pudo obtener el timezone del usuario {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.myfinances.account;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga comparativa: Tomcat con pool de threads de plataforma vs virtual threads
+ *
+ * Levanta el servicio dos veces (H2 embebido, investment-service y user-service simulados con latencia fija)
+ * y reparte la carga entre /accounts/summary (espera I/O remoto), el listado paginado y el balance (base).
+ * Imprime throughput y percentiles de cada modo; solo falla si hay errores.
+ *
+ * Corre con: mvn test -Pload-test  (parámetros: -Dload.clients, -Dload.seconds, -Dload.remote-latency-ms)
+ */
+@Tag("load")
+class VirtualThreadsLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(Integer.getInteger("load.seconds", 10));
+    private static final int REMOTE_LATENCY_MS = Integer.getInteger("load.remote-latency-ms", 100);
+    private static final int SEED_TRANSACTIONS = 100;
+
+    private static final UUID USER_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final List<String> PATHS = List.of(
+            "/api/v1/accounts/summary",
+            "/api/v1/transactions?size=20",
+            "/api/v1/transactions/balance");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static Tomcat remoteStub;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startRemoteStub() throws LifecycleException {
+        // Tomcat con virtual threads: el stub no debe ser el cuello de botella de ninguno de los dos modos
+        remoteStub = new Tomcat();
+        remoteStub.setBaseDir(System.getProperty("java.io.tmpdir"));
+        remoteStub.setPort(0);
+        remoteStub.getConnector().getProtocolHandler().setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        Context context = remoteStub.addContext("", null);
+        Tomcat.addServlet(context, "remote", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                try {
+                    Thread.sleep(REMOTE_LATENCY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // Total invertido para investment-service; perfil sin timezone para user-service
+                response.setContentType("application/json");
+                response.getWriter().write(request.getRequestURI().startsWith("/api/v1/investments") ? "1500.00" : "{}");
+            }
+        });
+        context.addServletMappingDecoded("/*", "remote");
+        remoteStub.start();
+
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @AfterAll
+    static void stopRemoteStub() throws LifecycleException {
+        remoteStub.stop();
+        remoteStub.destroy();
+    }
+
+    @Test
+    void compareThroughputAndLatency() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf(Locale.ROOT, "%n%d clientes, %d s medidos, latencia remota %d ms%n",
+                CLIENTS, MEASURE.toSeconds(), REMOTE_LATENCY_MS);
+        System.out.printf(Locale.ROOT, "%-10s %12s %10s %10s %10s %8s%n", "modo", "req/s", "p50 ms", "p99 ms", "max ms", "errores");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf(Locale.ROOT, "%-10s %12.1f %10.1f %10.1f %10.1f %8d%n", result.mode(), result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(100), result.errors());
+        }
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String stubUrl = "http://localhost:" + remoteStub.getConnector().getLocalPort();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--services.investment-service.url=" + stubUrl,
+                "--services.user-service.url=" + stubUrl,
+                "--account.snapshot.cron=-",
+                "--account.balance.reconcile-cron=-",
+                "--account.ledger.reconcile-cron=-",
+                "--management.tracing.enabled=false",
+                "--spring.autoconfigure.exclude=org.springframework.boot.actuate.autoconfigure.tracing.zipkin.ZipkinAutoConfiguration",
+                "--logging.level.root=WARN")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            seed(baseUrl);
+
+            load(baseUrl, WARMUP);
+            return load(baseUrl, MEASURE).withMode(virtualThreads ? "virtual" : "platform");
+        }
+    }
+
+    private void seed(String baseUrl) throws Exception {
+        send(baseUrl, "/api/v1/categories/initialize-for-user/" + USER_ID, "POST", null);
+        JsonNode categories = JSON.readTree(send(baseUrl, "/api/v1/categories", "GET", null).body());
+        long categoryId = 0;
+        for (JsonNode category : categories) {
+            if ("EXPENSE".equals(category.path("type").asText())) {
+                categoryId = category.path("id").asLong();
+                break;
+            }
+        }
+        assertThat(categoryId).as("categoría de egresos para el usuario de prueba").isPositive();
+
+        for (int i = 0; i < SEED_TRANSACTIONS; i++) {
+            String body = """
+                    {"description":"Compra %d","amount":%d.50,"type":"EXPENSE","categoryId":%d}""".formatted(i, 10 + i, categoryId);
+            assertThat(send(baseUrl, "/api/v1/transactions", "POST", body).statusCode()).isEqualTo(201);
+        }
+    }
+
+    private Result load(String baseUrl, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = send(baseUrl, PATHS.get(i % PATHS.size()), "GET", null).statusCode();
+                            if (status != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> perClient = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            perClient.add(worker.get());
+        }
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(null, all, errors.get(), duration);
+    }
+
+    private static HttpResponse<String> send(String baseUrl, String path, String method, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-User-Id", USER_ID.toString());
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Latencias (ns, ordenadas) de las requests exitosas de una corrida
+     */
+    private record Result(String mode, long[] latencies, long errors, Duration duration) {
+
+        Result withMode(String mode) {
+            return new Result(mode, latencies, errors, duration);
+        }
+
+        double throughput() {
+            return latencies.length / (duration.toNanos() / 1e9);
+        }
+
+        double percentileMillis(int percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.myfinances.account.config;
+
+import com.myfinances.account.service.UserDataVersionService;
+import com.myfinances.account.service.UserZoneResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * GET condicionales: 304 mientras no cambie la versión de datos, ETag nuevo después de una escritura,
+ * y el timezone leído una sola vez por versión
+ */
+class DataVersionETagInterceptorTests {
+
+    private static final UUID USER_ID = UUID.fromString("88888888-8888-8888-8888-888888888888");
+    private static final ZoneId ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
+
+    private UserDataVersionService dataVersions;
+    private UserZoneResolver userZoneResolver;
+    private DataVersionETagInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        dataVersions = new UserDataVersionService(1000);
+        userZoneResolver = mock(UserZoneResolver.class);
+        when(userZoneResolver.lastKnownZoneOf(USER_ID)).thenReturn(ZONE);
+        interceptor = new DataVersionETagInterceptor(dataVersions, userZoneResolver, 1000);
+    }
+
+    private record Exchange(boolean proceeded, MockHttpServletResponse response) {
+
+        String etag() {
+            return response.getHeader(HttpHeaders.ETAG);
+        }
+    }
+
+    /**
+     * Simula el recorrido de la request: preHandle y, si el controller responde, el cuerpo JSON
+     */
+    private Exchange get(String ifNoneMatch) {
+        return exchange("GET", ifNoneMatch, 200, MediaType.APPLICATION_JSON);
+    }
+
+    private Exchange exchange(String method, String ifNoneMatch, int status, MediaType contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/transactions/balance");
+        request.addHeader(DataVersionETagInterceptor.USER_HEADER, USER_ID.toString());
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceeded = interceptor.preHandle(request, response, new Object());
+        if (proceeded) {
+            response.setStatus(status);
+            interceptor.beforeBodyWrite("{}", null, contentType, MappingJackson2HttpMessageConverter.class,
+                    new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+        }
+        return new Exchange(proceeded, response);
+    }
+
+    // ==================== 304 ====================
+
+    @Test
+    void unchangedDataAnswersNotModifiedWithoutRunningTheController() {
+        Exchange first = get(null);
+        assertThat(first.proceeded()).isTrue();
+        assertThat(first.etag()).isNotNull().contains(ZONE.getId());
+        assertThat(first.response().getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("private, no-cache");
+
+        Exchange second = get(first.etag());
+        assertThat(second.proceeded()).isFalse();
+        assertThat(second.response().getStatus()).isEqualTo(304);
+        assertThat(second.etag()).isEqualTo(first.etag());
+
+        assertThat(get("\"otro\", W/" + first.etag()).proceeded()).isFalse();
+        verify(userZoneResolver, times(1)).lastKnownZoneOf(USER_ID);
+    }
+
+    @Test
+    void aWriteChangesTheETag() {
+        String before = get(null).etag();
+
+        dataVersions.bump(USER_ID);
+
+        Exchange after = get(before);
+        assertThat(after.proceeded()).isTrue();
+        assertThat(after.etag()).isNotNull().isNotEqualTo(before);
+        assertThat(get(after.etag()).proceeded()).isFalse();
+        verify(userZoneResolver, times(2)).lastKnownZoneOf(USER_ID);
+    }
+
+    @Test
+    void systemCategoryChangesAffectEveryUser() {
+        String before = get(null).etag();
+
+        dataVersions.bump(null);
+
+        assertThat(get(before).proceeded()).isTrue();
+    }
+
+    // ==================== ALCANCE ====================
+
+    @Test
+    void onlySuccessfulJsonResponsesCarryTheETag() {
+        assertThat(exchange("GET", null, 404, MediaType.APPLICATION_JSON).etag()).isNull();
+        assertThat(exchange("GET", null, 200, MediaType.parseMediaType("text/csv")).etag()).isNull();
+        assertThat(exchange("POST", null, 201, MediaType.APPLICATION_JSON).etag()).isNull();
+    }
+
+    @Test
+    void wildcardAndMissingUserAreIgnored() {
+        assertThat(get("*").proceeded()).isTrue();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transactions/balance");
+        request.addHeader(DataVersionETagInterceptor.USER_HEADER, "no-es-un-uuid");
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+    }
+}
@@ -0,0 +1,188 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.DailyLedgerBatchWriter;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.service.DailyLedgerService.Totals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sumas por rango del libro diario (días completos, extremos parciales y bordes de medianoche)
+ * contra la suma directa de las transacciones, y reparación de desvíos
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DailyLedgerService.class, DailyLedgerBatchWriter.class, UserBalanceService.class, UserDataVersionService.class})
+class DailyLedgerServiceTests {
+
+    private static final UUID USER_ID = UUID.fromString("44444444-4444-4444-4444-444444444444");
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    /**
+     * Último instante que guarda la base (precisión de microsegundos; LocalTime.MAX se redondea al día siguiente)
+     */
+    private static final LocalTime LAST_INSTANT = LocalTime.of(23, 59, 59, 999_999_000);
+
+    @Autowired
+    private DailyLedgerService ledgerService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Transaction> transactions = new ArrayList<>();
+
+    /**
+     * Movimientos en los bordes de cada día: medianoche, mediodía y el último instante
+     * El primero construye el libro; los siguientes suman su delta
+     */
+    @BeforeEach
+    void seed() {
+        write(TransactionType.INCOME, "1000.00", DAY.atStartOfDay());
+        write(TransactionType.EXPENSE, "10.00", DAY.atTime(12, 0));
+        write(TransactionType.EXPENSE, "20.00", DAY.atTime(LAST_INSTANT));
+        write(TransactionType.EXPENSE, "40.00", DAY.plusDays(1).atStartOfDay());
+        write(TransactionType.INCOME, "80.00", DAY.plusDays(1).atTime(9, 30));
+        write(TransactionType.EXPENSE, "160.00", DAY.plusDays(3).atTime(18, 45));
+        write(TransactionType.INCOME, "320.00", DAY.plusDays(4).atTime(LAST_INSTANT));
+    }
+
+    private void write(TransactionType type, String amount, LocalDateTime date) {
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .userId(USER_ID)
+                .description("Movimiento")
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .date(date)
+                .linkedToInvestment(false)
+                .build());
+        transactions.add(transaction);
+        ledgerService.onCreated(transaction);
+    }
+
+    /**
+     * Suma directa sobre las transacciones del rango [start, end]
+     */
+    private Totals expected(LocalDateTime start, LocalDateTime end) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (Transaction transaction : transactions) {
+            if (transaction.getDate().isBefore(start) || transaction.getDate().isAfter(end)) {
+                continue;
+            }
+            if (transaction.getType() == TransactionType.INCOME) {
+                income = income.add(transaction.getAmount());
+            } else {
+                expense = expense.add(transaction.getAmount());
+            }
+        }
+        return new Totals(income, expense);
+    }
+
+    private void assertRange(LocalDateTime start, LocalDateTime end) {
+        Totals actual = ledgerService.totalsBetween(USER_ID, start, end);
+        Totals expected = expected(start, end);
+        assertThat(actual.matches(expected))
+                .as("[%s, %s]: libro %s, transacciones %s", start, end, actual, expected)
+                .isTrue();
+    }
+
+    // ==================== RANGOS ====================
+
+    @Test
+    void fullDaysAreTheDifferenceOfCumulativeTotals() {
+        assertRange(DAY.atStartOfDay(), DAY.plusDays(4).atTime(LocalTime.MAX));
+        assertRange(DAY.plusDays(1).atStartOfDay(), DAY.plusDays(2).atTime(LocalTime.MAX));
+        assertRange(DAY.minusDays(5).atStartOfDay(), DAY.plusDays(10).atTime(LocalTime.MAX));
+    }
+
+    @Test
+    void partialEndsAreAddedFromTransactions() {
+        assertRange(DAY.atTime(12, 0), DAY.plusDays(3).atTime(18, 45));
+        assertRange(DAY.atTime(12, 0, 0, 1), DAY.plusDays(3).atTime(18, 44));
+        assertRange(DAY.atTime(6, 0), DAY.plusDays(1).atTime(9, 0));
+    }
+
+    @Test
+    void midnightBoundariesBelongToTheirOwnDay() {
+        assertRange(DAY.plusDays(1).atStartOfDay(), DAY.plusDays(4).atStartOfDay());
+        assertRange(DAY.atTime(LAST_INSTANT), DAY.plusDays(1).atStartOfDay());
+        assertRange(DAY.atTime(0, 0, 0, 1), DAY.plusDays(4).atTime(23, 59, 59));
+    }
+
+    @Test
+    void sameDayAndEmptyRanges() {
+        assertRange(DAY.atTime(11, 0), DAY.atTime(13, 0));
+        assertRange(DAY.plusDays(2).atStartOfDay(), DAY.plusDays(2).atTime(LocalTime.MAX));
+        assertThat(ledgerService.totalsBetween(USER_ID, DAY.plusDays(1).atStartOfDay(), DAY.atStartOfDay()).isZero())
+                .isTrue();
+    }
+
+    @Test
+    void updatesAndDeletesMoveTheCumulativeTotalsOfLaterDays() {
+        Transaction moved = transactions.get(1);
+        TransactionSnapshot before = TransactionSnapshot.of(moved);
+        moved.setDate(DAY.plusDays(2).atTime(8, 0));
+        moved.setAmount(new BigDecimal("15.00"));
+        ledgerService.onUpdated(before, transactionRepository.save(moved));
+
+        Transaction deleted = transactions.remove(4);
+        transactionRepository.delete(deleted);
+        ledgerService.onDeleted(deleted);
+
+        assertRange(DAY.atStartOfDay(), DAY.plusDays(1).atTime(LocalTime.MAX));
+        assertRange(DAY.plusDays(2).atStartOfDay(), DAY.plusDays(4).atTime(LocalTime.MAX));
+        assertRange(DAY.atTime(13, 0), DAY.plusDays(2).atTime(8, 0));
+    }
+
+    // ==================== RECONCILIACIÓN ====================
+
+    @Test
+    void reconcileRebuildsADriftedLedger() {
+        assertThat(ledgerService.reconcile(USER_ID)).isFalse();
+
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE daily_ledger SET cumulative_expense = cumulative_expense + 5 WHERE user_id = ? AND ledger_day = ?",
+                USER_ID, DAY.plusDays(1));
+        entityManager.clear();
+
+        assertThat(ledgerService.reconcile(USER_ID)).isTrue();
+        assertRange(DAY.plusDays(2).atStartOfDay(), DAY.plusDays(4).atTime(LocalTime.MAX));
+        assertRange(DAY.atStartOfDay(), DAY.plusDays(1).atTime(LocalTime.MAX));
+        assertThat(ledgerService.reconcile(USER_ID)).isFalse();
+    }
+
+    @Test
+    void reconcileRebuildsWhenADayIsMissing() {
+        entityManager.flush();
+        jdbcTemplate.update("DELETE FROM daily_ledger WHERE user_id = ? AND ledger_day = ?", USER_ID, DAY.plusDays(3));
+        entityManager.clear();
+
+        assertThat(ledgerService.reconcile(USER_ID)).isTrue();
+        assertRange(DAY.plusDays(3).atStartOfDay(), DAY.plusDays(3).atTime(LocalTime.MAX));
+    }
+}
@@ -0,0 +1,247 @@
+package com.myfinances.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfinances.account.dto.MonthlySummaryDTO;
+import com.myfinances.account.model.MonthlySummarySnapshot;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.model.UserTimezone;
+import com.myfinances.account.repository.MonthlySummarySnapshotRepository;
+import com.myfinances.account.repository.UserTimezoneRepository;
+import com.myfinances.account.repository.projection.CategoryTotalView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Precálculo del mes cerrado: una corrida repetida no recalcula resúmenes vigentes,
+ * y un resumen marcado como desactualizado se recalcula y vuelve a quedar vigente
+ * Sin transacción de test: el scheduler trabaja en sus propios hilos, cada usuario en su transacción
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ReportService.class, CategoryAggregator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MonthlySnapshotSchedulerTests {
+
+    private static final UUID BUENOS_AIRES_USER = UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbb1");
+    private static final UUID BUENOS_AIRES_OTHER_USER = UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbb2");
+    private static final UUID KIRITIMATI_USER = UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbb3");
+    private static final String BUENOS_AIRES = "America/Argentina/Buenos_Aires";
+    private static final String KIRITIMATI = "Pacific/Kiritimati";
+
+    @SpyBean
+    private ReportService reportService;
+
+    @MockBean
+    private MonthlyRollupService monthlyRollupService;
+
+    @MockBean
+    private MonthBoundaries monthBoundaries;
+
+    @MockBean
+    private ReportCache reportCache;
+
+    @Autowired
+    private MonthlySummarySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private UserTimezoneRepository timezoneRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MonthlySnapshotScheduler scheduler;
+
+    /**
+     * Ingresos del mes que devuelven los agregados (se cambia para simular escrituras en el mes cerrado)
+     */
+    private volatile BigDecimal monthIncome = new BigDecimal("1000.00");
+
+    private record Total(Long categoryId, String categoryName, TransactionType type, BigDecimal total, Long count)
+            implements CategoryTotalView {
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public String getCategoryName() {
+            return categoryName;
+        }
+
+        @Override
+        public TransactionType getType() {
+            return type;
+        }
+
+        @Override
+        public BigDecimal getTotal() {
+            return total;
+        }
+
+        @Override
+        public Long getCount() {
+            return count;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(monthlyRollupService.findTotalsForMonth(any(), anyInt(), anyInt())).thenAnswer(invocation ->
+                List.of(new Total(1L, "Sueldo", TransactionType.INCOME, monthIncome, 1L)));
+        registerZone(BUENOS_AIRES_USER, BUENOS_AIRES);
+        registerZone(BUENOS_AIRES_OTHER_USER, BUENOS_AIRES);
+        registerZone(KIRITIMATI_USER, KIRITIMATI);
+        // Lotes de 2 con 2 hilos: tres usuarios alcanzan para cruzar el borde de un lote
+        scheduler = new MonthlySnapshotScheduler(reportService, snapshotRepository, timezoneRepository, 2, 2, false);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        snapshotRepository.deleteAllInBatch();
+        timezoneRepository.deleteAllInBatch();
+    }
+
+    private void registerZone(UUID userId, String zone) {
+        timezoneRepository.save(UserTimezone.builder()
+                .userId(userId)
+                .zone(zone)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Las marcas de desactualizado son UPDATE masivos: corren dentro de la escritura que las provoca
+     */
+    private int inTransaction(Supplier<Integer> update) {
+        return new TransactionTemplate(transactionManager).execute(status -> update.get());
+    }
+
+    private static YearMonth closedMonth(String zone) {
+        return YearMonth.now(ZoneId.of(zone)).minusMonths(1);
+    }
+
+    private MonthlySummarySnapshot snapshotOf(UUID userId, String zone) {
+        YearMonth period = closedMonth(zone);
+        return snapshotRepository.findByUserIdAndYearAndMonth(userId, period.getYear(), period.getMonthValue())
+                .orElseThrow();
+    }
+
+    private BigDecimal storedIncome(MonthlySummarySnapshot snapshot) throws Exception {
+        return objectMapper.readValue(snapshot.getPayload(), MonthlySummaryDTO.class).getTotalIncome();
+    }
+
+    // ==================== IDEMPOTENCIA ====================
+
+    @Test
+    void everyRegisteredUserGetsTheClosedMonthOfTheirZone() throws Exception {
+        scheduler.precomputeClosedMonth();
+
+        assertThat(snapshotRepository.count()).isEqualTo(3);
+        for (UUID userId : List.of(BUENOS_AIRES_USER, BUENOS_AIRES_OTHER_USER)) {
+            MonthlySummarySnapshot snapshot = snapshotOf(userId, BUENOS_AIRES);
+            assertThat(snapshot.isStale()).isFalse();
+            assertThat(storedIncome(snapshot)).isEqualByComparingTo("1000.00");
+        }
+        assertThat(snapshotOf(KIRITIMATI_USER, KIRITIMATI).isStale()).isFalse();
+    }
+
+    @Test
+    void repeatedRunsSkipFreshSnapshots() {
+        scheduler.precomputeClosedMonth();
+        clearInvocations(reportService);
+
+        scheduler.precomputeClosedMonth();
+        scheduler.precomputeClosedMonth();
+
+        verify(reportService, never()).refreshSnapshot(any(), any());
+        assertThat(snapshotRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void refreshingAnExistingSnapshotDoesNotDuplicateIt() {
+        YearMonth period = closedMonth(BUENOS_AIRES);
+        reportService.refreshSnapshot(BUENOS_AIRES_USER, period);
+        reportService.refreshSnapshot(BUENOS_AIRES_USER, period);
+
+        assertThat(snapshotRepository.findUserIdsWithFreshSnapshot(period.getYear(), period.getMonthValue()))
+                .containsExactly(BUENOS_AIRES_USER);
+    }
+
+    // ==================== DESACTUALIZADOS ====================
+
+    @Test
+    void staleSnapshotsAreRecomputedAndBecomeFreshAgain() throws Exception {
+        scheduler.precomputeClosedMonth();
+        YearMonth period = closedMonth(BUENOS_AIRES);
+        long id = snapshotOf(BUENOS_AIRES_USER, BUENOS_AIRES).getId();
+
+        // Escritura tardía en el mes cerrado
+        monthIncome = new BigDecimal("1250.00");
+        assertThat(inTransaction(() ->
+                snapshotRepository.markStale(BUENOS_AIRES_USER, period.getYear(), period.getMonthValue())))
+                .isEqualTo(1);
+        assertThat(snapshotRepository.findUserIdsWithFreshSnapshot(period.getYear(), period.getMonthValue()))
+                .doesNotContain(BUENOS_AIRES_USER);
+        clearInvocations(reportService);
+
+        scheduler.precomputeClosedMonth();
+
+        verify(reportService, times(1)).refreshSnapshot(any(), any());
+        verify(reportService).refreshSnapshot(eq(BUENOS_AIRES_USER), eq(period));
+        MonthlySummarySnapshot refreshed = snapshotOf(BUENOS_AIRES_USER, BUENOS_AIRES);
+        assertThat(refreshed.getId()).isEqualTo(id);
+        assertThat(refreshed.isStale()).isFalse();
+        assertThat(storedIncome(refreshed)).isEqualByComparingTo("1250.00");
+        assertThat(storedIncome(snapshotOf(BUENOS_AIRES_OTHER_USER, BUENOS_AIRES))).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void markAllStaleAffectsOnlyThatUser() {
+        scheduler.precomputeClosedMonth();
+
+        assertThat(inTransaction(() -> snapshotRepository.markAllStale(KIRITIMATI_USER))).isEqualTo(1);
+        assertThat(inTransaction(() -> snapshotRepository.markAllStale(KIRITIMATI_USER))).isZero();
+        clearInvocations(reportService);
+
+        scheduler.precomputeClosedMonth();
+
+        verify(reportService, times(1)).refreshSnapshot(any(), any());
+        assertThat(snapshotOf(KIRITIMATI_USER, KIRITIMATI).isStale()).isFalse();
+    }
+}
@@ -0,0 +1,97 @@
+package com.myfinances.account.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Caché de reportes por versión de datos: reutiliza mientras no haya escrituras
+ * y recalcula recién cuando la escritura confirma
+ */
+class ReportCacheTests {
+
+    private static final UUID USER_ID = UUID.fromString("99999999-9999-9999-9999-999999999999");
+    private static final UUID OTHER_USER_ID = UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa");
+
+    private UserDataVersionService dataVersions;
+    private ReportCache reportCache;
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        dataVersions = new UserDataVersionService(1000);
+        reportCache = new ReportCache(dataVersions, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Integer summary(UUID userId, int month) {
+        return reportCache.get(userId, "summary", List.of(2026, month), computations::incrementAndGet);
+    }
+
+    @Test
+    void sameVersionAndParametersReuseTheResult() {
+        assertThat(summary(USER_ID, 3)).isEqualTo(1);
+        assertThat(summary(USER_ID, 3)).isEqualTo(1);
+
+        assertThat(summary(USER_ID, 4)).isEqualTo(2);
+        assertThat(summary(OTHER_USER_ID, 3)).isEqualTo(3);
+        assertThat(computations).hasValue(3);
+    }
+
+    @Test
+    void aWriteOfTheUserRecomputesOnlyTheirReports() {
+        summary(USER_ID, 3);
+        summary(OTHER_USER_ID, 3);
+
+        dataVersions.bump(USER_ID);
+
+        assertThat(summary(USER_ID, 3)).isEqualTo(3);
+        assertThat(summary(OTHER_USER_ID, 3)).isEqualTo(2);
+    }
+
+    @Test
+    void theVersionChangesOnlyAfterCommit() {
+        summary(USER_ID, 3);
+        long before = dataVersions.current(USER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        dataVersions.bump(USER_ID);
+        // Escritura sin confirmar: una lectura concurrente sigue viendo la versión anterior
+        assertThat(dataVersions.current(USER_ID)).isEqualTo(before);
+        assertThat(summary(USER_ID, 3)).isEqualTo(1);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(dataVersions.current(USER_ID)).isGreaterThan(before);
+        assertThat(summary(USER_ID, 3)).isEqualTo(2);
+    }
+
+    @Test
+    void systemCategoryChangesInvalidateEveryUser() {
+        summary(USER_ID, 3);
+        summary(OTHER_USER_ID, 3);
+
+        dataVersions.bump(null);
+
+        assertThat(summary(USER_ID, 3)).isEqualTo(3);
+        assertThat(summary(OTHER_USER_ID, 3)).isEqualTo(4);
+    }
+}
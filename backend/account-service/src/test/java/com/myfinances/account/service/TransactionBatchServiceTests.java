@@ -0,0 +1,200 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.dto.BatchTransactionDTO;
+import com.myfinances.account.dto.BatchTransactionDTO.Operation;
+import com.myfinances.account.dto.BatchTransactionDTO.OperationType;
+import com.myfinances.account.dto.BatchTransactionResultDTO;
+import com.myfinances.account.dto.BatchTransactionResultDTO.ItemResult;
+import com.myfinances.account.dto.BatchTransactionResultDTO.Status;
+import com.myfinances.account.dto.CreateTransactionDTO;
+import com.myfinances.account.dto.UpdateTransactionDTO;
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.repository.TransactionBatchWriter;
+import com.myfinances.account.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Validación de lotes: una operación inválida rechaza el lote entero, con el error de cada operación
+ * y sin tocar transacciones ni agregados
+ */
+class TransactionBatchServiceTests {
+
+    private static final UUID USER_ID = UUID.fromString("55555555-5555-5555-5555-555555555555");
+    private static final UUID OTHER_USER_ID = UUID.fromString("66666666-6666-6666-6666-666666666666");
+
+    private TransactionRepository transactionRepository;
+    private TransactionBatchWriter batchWriter;
+    private MonthlyRollupService monthlyRollupService;
+    private UserBalanceService userBalanceService;
+    private DailyLedgerService dailyLedgerService;
+    private TransactionSearchIndex searchIndex;
+    private UserDataVersionService dataVersions;
+    private EntityManager entityManager;
+    private TransactionBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        batchWriter = mock(TransactionBatchWriter.class);
+        monthlyRollupService = mock(MonthlyRollupService.class);
+        userBalanceService = mock(UserBalanceService.class);
+        dailyLedgerService = mock(DailyLedgerService.class);
+        searchIndex = mock(TransactionSearchIndex.class);
+        dataVersions = mock(UserDataVersionService.class);
+        entityManager = mock(EntityManager.class);
+
+        when(transactionRepository.findAllById(anyIterable())).thenReturn(List.of(
+                transaction(1L, USER_ID),
+                transaction(2L, USER_ID),
+                transaction(3L, OTHER_USER_ID)));
+        when(categoryRepository.findAllById(anyIterable())).thenReturn(List.of(
+                category(10L, null),
+                category(11L, USER_ID),
+                category(12L, OTHER_USER_ID)));
+
+        batchService = new TransactionBatchService(transactionRepository, categoryRepository, batchWriter,
+                mock(TransactionService.class), monthlyRollupService, userBalanceService, dailyLedgerService,
+                searchIndex, dataVersions, entityManager);
+    }
+
+    private static Transaction transaction(Long id, UUID userId) {
+        return Transaction.builder()
+                .id(id)
+                .userId(userId)
+                .description("Movimiento " + id)
+                .amount(new BigDecimal("100.00"))
+                .type(TransactionType.EXPENSE)
+                .date(LocalDateTime.of(2026, 3, 15, 12, 0))
+                .linkedToInvestment(false)
+                .build();
+    }
+
+    private static CategoryType category(Long id, UUID userId) {
+        return CategoryType.builder()
+                .id(id)
+                .userId(userId)
+                .name("Categoría " + id)
+                .type(TransactionType.EXPENSE)
+                .build();
+    }
+
+    private static Operation create(String clientRef, Long categoryId) {
+        return Operation.builder()
+                .op(OperationType.CREATE)
+                .clientRef(clientRef)
+                .create(CreateTransactionDTO.builder()
+                        .description("Alta")
+                        .amount(new BigDecimal("50.00"))
+                        .type(TransactionType.EXPENSE)
+                        .categoryId(categoryId)
+                        .build())
+                .build();
+    }
+
+    private static Operation update(Long id, Long categoryId) {
+        return Operation.builder()
+                .op(OperationType.UPDATE)
+                .id(id)
+                .update(UpdateTransactionDTO.builder().categoryId(categoryId).build())
+                .build();
+    }
+
+    private static Operation delete(Long id) {
+        return Operation.builder().op(OperationType.DELETE).id(id).build();
+    }
+
+    private BatchTransactionResultDTO apply(Operation... operations) {
+        return batchService.apply(USER_ID, BatchTransactionDTO.builder().operations(List.of(operations)).build());
+    }
+
+    private void assertNothingWritten() {
+        verify(transactionRepository).findAllById(anyIterable());
+        verifyNoMoreInteractions(transactionRepository);
+        verifyNoInteractions(batchWriter, monthlyRollupService, userBalanceService, dailyLedgerService,
+                searchIndex, dataVersions, entityManager);
+    }
+
+    // ==================== RECHAZO DEL LOTE ====================
+
+    @Test
+    void oneInvalidOperationRejectsTheWholeBatch() {
+        BatchTransactionResultDTO result = apply(
+                create("a", 10L),
+                update(1L, 11L),
+                delete(99L),
+                delete(2L));
+
+        assertThat(result.isApplied()).isFalse();
+        assertThat(result.getSucceeded()).isZero();
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(ItemResult::getIndex, ItemResult::getStatus)
+                .containsExactly(
+                        tuple(0, Status.SKIPPED),
+                        tuple(1, Status.SKIPPED),
+                        tuple(2, Status.ERROR),
+                        tuple(3, Status.SKIPPED));
+        assertThat(result.getResults().get(0).getClientRef()).isEqualTo("a");
+        assertThat(result.getResults().get(2).getError()).isEqualTo("Transacción no encontrada con ID: 99");
+        assertThat(result.getResults()).extracting(ItemResult::getTransaction).containsOnlyNulls();
+        assertNothingWritten();
+    }
+
+    @Test
+    void everyInvalidOperationReportsItsOwnError() {
+        BatchTransactionResultDTO result = apply(
+                create("sin-categoria", 404L),
+                create("categoria-ajena", 12L),
+                Operation.builder().op(OperationType.CREATE).clientRef("sin-create").build(),
+                update(3L, null),
+                Operation.builder().op(OperationType.UPDATE).id(1L).build(),
+                update(1L, 12L),
+                delete(null),
+                create("valida", 11L));
+
+        assertThat(result.isApplied()).isFalse();
+        assertThat(result.getFailed()).isEqualTo(7);
+        assertThat(result.getResults()).extracting(ItemResult::getError).containsExactly(
+                "Categoría no encontrada",
+                "La categoría no te pertenece",
+                "Falta el campo create",
+                "Transacción no encontrada con ID: 3",
+                "Falta el campo update",
+                "La categoría no te pertenece",
+                "Falta el ID de la transacción",
+                null);
+        assertThat(result.getResults().get(7).getStatus()).isEqualTo(Status.SKIPPED);
+        assertNothingWritten();
+    }
+
+    @Test
+    void theSameTransactionCannotAppearTwice() {
+        BatchTransactionResultDTO result = apply(update(1L, 10L), delete(1L));
+
+        assertThat(result.isApplied()).isFalse();
+        assertThat(result.getResults()).extracting(ItemResult::getStatus)
+                .containsExactly(Status.SKIPPED, Status.ERROR);
+        assertThat(result.getResults().get(1).getError()).isEqualTo("La transacción 1 aparece más de una vez en el lote");
+        assertThat(result.getResults().get(1).getId()).isEqualTo(1L);
+        assertNothingWritten();
+    }
+}
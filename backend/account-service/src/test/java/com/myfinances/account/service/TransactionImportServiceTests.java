@@ -0,0 +1,183 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.dto.ImportResultDTO;
+import com.myfinances.account.exception.BadRequestException;
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.repository.TransactionBatchWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Importación CSV: campos escapados (RFC 4180), INSERT por lotes de BATCH_SIZE
+ * y rechazo del archivo completo ante una fila inválida
+ */
+class TransactionImportServiceTests {
+
+    private static final UUID USER_ID = UUID.fromString("77777777-7777-7777-7777-777777777777");
+
+    private UserBalanceService userBalanceService;
+    private UserDataVersionService dataVersions;
+    private TransactionImportService importService;
+
+    /**
+     * Contenido de cada lote enviado al writer (la lista se reutiliza entre lotes: se copia)
+     */
+    private final List<List<Transaction>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TransactionBatchWriter batchWriter = mock(TransactionBatchWriter.class);
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.<List<Transaction>>getArgument(0))))
+                .when(batchWriter).insertAll(anyList());
+
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.findByIsSystemTrue()).thenReturn(List.of(
+                category(1L, null, "Sueldo"),
+                category(2L, null, "Supermercado")));
+        when(categoryRepository.findByUserId(USER_ID)).thenReturn(List.of(
+                category(30L, USER_ID, "Viajes, vacaciones")));
+
+        MonthlyRollupService monthlyRollupService = mock(MonthlyRollupService.class);
+        when(monthlyRollupService.pending(USER_ID)).thenReturn(mock(MonthlyRollupService.PendingRollups.class));
+        userBalanceService = mock(UserBalanceService.class);
+        when(userBalanceService.pending(USER_ID)).thenReturn(mock(UserBalanceService.PendingBalance.class));
+        DailyLedgerService dailyLedgerService = mock(DailyLedgerService.class);
+        when(dailyLedgerService.pending(USER_ID)).thenReturn(mock(DailyLedgerService.PendingLedger.class));
+        dataVersions = mock(UserDataVersionService.class);
+
+        importService = new TransactionImportService(batchWriter, categoryRepository, monthlyRollupService,
+                userBalanceService, dailyLedgerService, mock(TransactionSearchIndex.class), dataVersions);
+    }
+
+    private static CategoryType category(Long id, UUID userId, String name) {
+        return CategoryType.builder()
+                .id(id)
+                .userId(userId)
+                .name(name)
+                .type(TransactionType.EXPENSE)
+                .isSystem(userId == null)
+                .build();
+    }
+
+    private ImportResultDTO importCsv(String csv, char separator) throws IOException {
+        return importService.importCsv(USER_ID, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), separator);
+    }
+
+    private List<Transaction> imported() {
+        return batches.stream().flatMap(List::stream).toList();
+    }
+
+    // ==================== ESCAPADO ====================
+
+    @Test
+    void quotedFieldsKeepSeparatorsQuotesAndLineBreaks() throws IOException {
+        importCsv("""
+                date,description,amount,category,notes
+                2026-03-01,"Café, medialunas",-12.50,Supermercado,"dijo ""gracias""\"
+                2026-03-02,"Pasaje
+                ida y vuelta",-300,"Viajes, vacaciones",
+                2026-03-03T09:15:00,Sueldo,2500.00,1,""
+                """, ',');
+
+        List<Transaction> rows = imported();
+        assertThat(rows).extracting(Transaction::getDescription)
+                .containsExactly("Café, medialunas", "Pasaje\nida y vuelta", "Sueldo");
+        assertThat(rows).extracting(Transaction::getNotes)
+                .containsExactly("dijo \"gracias\"", null, null);
+        assertThat(rows).extracting(transaction -> transaction.getCategory().getId())
+                .containsExactly(2L, 30L, 1L);
+        assertThat(rows).extracting(Transaction::getType)
+                .containsExactly(TransactionType.EXPENSE, TransactionType.EXPENSE, TransactionType.INCOME);
+        assertThat(rows.get(1).getAmount()).isEqualByComparingTo("300");
+        assertThat(rows.get(2).getDate()).isEqualTo(LocalDateTime.of(2026, 3, 3, 9, 15));
+    }
+
+    @Test
+    void crlfBlankLinesAndCustomSeparator() throws IOException {
+        ImportResultDTO result = importCsv(
+                "Fecha;Descripción;Monto;Tipo;Categoria\r\n"
+                        + "\r\n"
+                        + "2026-03-01; Compra ; 10.00 ;expense;Supermercado\r\n"
+                        + "2026-03-02;\"Sueldo; marzo\";1000;INCOME;Sueldo\r\n"
+                        + "\r\n", ';');
+
+        assertThat(imported()).extracting(Transaction::getDescription).containsExactly("Compra", "Sueldo; marzo");
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getIncomeCount()).isEqualTo(1);
+        assertThat(result.getExpenseCount()).isEqualTo(1);
+        assertThat(result.getTotalIncome()).isEqualByComparingTo("1000");
+        assertThat(result.getTotalExpense()).isEqualByComparingTo("10");
+    }
+
+    // ==================== LOTES ====================
+
+    @Test
+    void rowsAreInsertedInBatchesOfBatchSize() throws IOException {
+        int rows = TransactionImportService.BATCH_SIZE * 2 + 1;
+        StringBuilder csv = new StringBuilder("date,description,amount,category\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("2026-03-01,Compra ").append(i).append(",-1.00,Supermercado\n");
+        }
+
+        ImportResultDTO result = importCsv(csv.toString(), ',');
+
+        assertThat(batches).extracting(List::size)
+                .containsExactly(TransactionImportService.BATCH_SIZE, TransactionImportService.BATCH_SIZE, 1);
+        assertThat(imported().get(rows - 1).getDescription()).isEqualTo("Compra " + (rows - 1));
+        assertThat(result.getImported()).isEqualTo(rows);
+        assertThat(result.getTotalExpense()).isEqualByComparingTo(BigDecimal.valueOf(rows));
+        verify(dataVersions).bump(USER_ID);
+    }
+
+    // ==================== RECHAZO ====================
+
+    @Test
+    void invalidRowRejectsTheFileWithItsRecordNumber() {
+        assertThatThrownBy(() -> importCsv("""
+                date,description,amount,category
+                2026-03-01,"Compra
+                en dos líneas",-5,Supermercado
+                2026-03-02,Compra,-5.001,Supermercado
+                """, ','))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Fila 3: monto inválido: -5.001");
+
+        verify(userBalanceService, never()).applyPending(any());
+        verify(dataVersions, never()).bump(USER_ID);
+    }
+
+    @Test
+    void unknownCategoryAndMissingColumnsAreRejected() {
+        assertThatThrownBy(() -> importCsv("date,description,amount,category\n2026-03-01,Compra,-5,Farmacia\n", ','))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Fila 2: categoría no encontrada: Farmacia");
+        assertThatThrownBy(() -> importCsv("date,description,category\n", ','))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("encabezado");
+        assertThatThrownBy(() -> importCsv("", ','))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("El archivo está vacío");
+    }
+}
@@ -0,0 +1,149 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.projection.TransactionTextView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tokenizador, coincidencia por prefijo, tolerancia a errores de tipeo y ranking del índice de búsqueda
+ */
+class TransactionSearchIndexTests {
+
+    private static final UUID USER_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 15, 12, 0);
+
+    private record Row(Long id, String description, String notes, LocalDateTime date) implements TransactionTextView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String getNotes() {
+            return notes;
+        }
+
+        @Override
+        public LocalDateTime getDate() {
+            return date;
+        }
+    }
+
+    /**
+     * Índice nuevo en cada búsqueda: se construye a partir de las filas indicadas
+     */
+    private List<Long> search(String query, Row... rows) {
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        when(transactionRepository.streamTextByUserId(USER_ID)).thenAnswer(invocation -> Stream.of(rows));
+        TransactionSearchIndex index = new TransactionSearchIndex(
+                transactionRepository, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(30));
+        return index.search(USER_ID, query, 10).stream().map(TransactionSearchIndex.Hit::transactionId).toList();
+    }
+
+    // ==================== TOKENIZADOR ====================
+
+    @Test
+    void tokenizeLowercasesRemovesAccentsAndSplitsOnNonWordCharacters() {
+        assertThat(TransactionSearchIndex.tokenize("Café, Súper-Mercado  24hs ¡Pagó!"))
+                .containsExactly("cafe", "super", "mercado", "24hs", "pago");
+    }
+
+    @Test
+    void tokenizeReturnsNothingForBlankText() {
+        assertThat(TransactionSearchIndex.tokenize(null)).isEmpty();
+        assertThat(TransactionSearchIndex.tokenize("  -- ")).isEmpty();
+    }
+
+    // ==================== DISTANCIA DE EDICIÓN ====================
+
+    @Test
+    void editDistanceCountsSubstitutionsInsertionsAndTranspositionsAsOne() {
+        assertThat(TransactionSearchIndex.editDistance("farmacia", "farmacia", 2)).isZero();
+        assertThat(TransactionSearchIndex.editDistance("farnacia", "farmacia", 2)).isEqualTo(1);
+        assertThat(TransactionSearchIndex.editDistance("farmcia", "farmacia", 2)).isEqualTo(1);
+        assertThat(TransactionSearchIndex.editDistance("fraamcia", "farmacia", 2)).isEqualTo(2);
+        assertThat(TransactionSearchIndex.editDistance("farmaica", "farmacia", 2)).isEqualTo(1);
+    }
+
+    @Test
+    void editDistanceStopsAboveTheMaximum() {
+        assertThat(TransactionSearchIndex.editDistance("luz", "supermercado", 1)).isEqualTo(2);
+        assertThat(TransactionSearchIndex.editDistance("sueldo", "salida", 1)).isGreaterThan(1);
+    }
+
+    // ==================== COINCIDENCIAS ====================
+
+    @Test
+    void prefixMatchesFromTwoLetters() {
+        Row supermarket = new Row(1L, "Supermercado Día", null, DAY);
+        Row salary = new Row(2L, "Sueldo marzo", null, DAY);
+
+        assertThat(search("super", supermarket, salary)).containsExactly(1L);
+        assertThat(search("su", supermarket, salary)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(search("s", supermarket, salary)).isEmpty();
+    }
+
+    @Test
+    void typosMatchWithinEditDistanceOneOrTwoForLongTerms() {
+        Row pharmacy = new Row(1L, "Farmacia del centro", null, DAY);
+        Row supermarket = new Row(2L, "Supermercado", null, DAY);
+
+        assertThat(search("farmcia", pharmacy, supermarket)).containsExactly(1L);
+        assertThat(search("suprmercdo", pharmacy, supermarket)).containsExactly(2L);
+        // Palabras de menos de 8 letras: una sola edición
+        assertThat(search("cnetor", pharmacy, supermarket)).isEmpty();
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        Row electricity = new Row(1L, "Luz enero", null, DAY);
+        Row gas = new Row(2L, "Gas enero", null, DAY);
+
+        assertThat(search("enero luz", electricity, gas)).containsExactly(1L);
+        assertThat(search("enero agua", electricity, gas)).isEmpty();
+    }
+
+    // ==================== RANKING ====================
+
+    @Test
+    void exactRanksAbovePrefixAndPrefixAboveTypo() {
+        Row exact = new Row(1L, "Café", null, DAY);
+        Row prefix = new Row(2L, "Cafetería", null, DAY.plusDays(1));
+        Row typo = new Row(3L, "Cofe", null, DAY.plusDays(2));
+
+        assertThat(search("cafe", typo, prefix, exact)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void descriptionWeighsMoreThanNotes() {
+        Row inNotes = new Row(1L, "Compra", "regalo cumpleaños", DAY.plusDays(1));
+        Row inDescription = new Row(2L, "Regalo", null, DAY);
+
+        assertThat(search("regalo", inNotes, inDescription)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void tiesAreBrokenByMostRecent() {
+        Row older = new Row(1L, "Alquiler", null, DAY);
+        Row newer = new Row(2L, "Alquiler", null, DAY.plusMonths(1));
+
+        assertThat(search("alquiler", older, newer)).containsExactly(2L, 1L);
+    }
+}
@@ -0,0 +1,153 @@
+package com.myfinances.account.service;
+
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionSnapshot;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.model.UserBalance;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.repository.UserBalanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Siembra desde transactions, deltas incrementales y reparación de desvíos de user_balances
+ * Corre contra el H2 en modo PostgreSQL de application.properties (los upserts usan ON CONFLICT)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserBalanceService.class, UserDataVersionService.class})
+class UserBalanceServiceTests {
+
+    private static final UUID USER_ID = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 15, 12, 0);
+
+    @Autowired
+    private UserBalanceService balanceService;
+
+    @Autowired
+    private UserBalanceRepository balanceRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Transaction save(TransactionType type, String amount) {
+        return transactionRepository.save(Transaction.builder()
+                .userId(USER_ID)
+                .description("Movimiento")
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .date(DAY)
+                .linkedToInvestment(false)
+                .build());
+    }
+
+    /**
+     * Fila guardada, leída desde la base (los UPDATE masivos no pasan por el contexto de persistencia)
+     */
+    private UserBalance stored() {
+        entityManager.flush();
+        entityManager.clear();
+        return balanceRepository.findById(USER_ID).orElseThrow();
+    }
+
+    private void assertBalance(UserBalance balance, String income, long incomeCount, String expense, long expenseCount) {
+        assertThat(balance.getTotalIncome()).isEqualByComparingTo(income);
+        assertThat(balance.getIncomeCount()).isEqualTo(incomeCount);
+        assertThat(balance.getTotalExpense()).isEqualByComparingTo(expense);
+        assertThat(balance.getExpenseCount()).isEqualTo(expenseCount);
+    }
+
+    // ==================== SIEMBRA ====================
+
+    @Test
+    void firstWriteSeedsTheRowFromTransactionsIncludingItself() {
+        save(TransactionType.INCOME, "1000.00");
+        save(TransactionType.EXPENSE, "250.50");
+        Transaction current = save(TransactionType.EXPENSE, "49.50");
+
+        balanceService.onCreated(current);
+
+        assertBalance(stored(), "1000.00", 1, "300.00", 2);
+    }
+
+    @Test
+    void readingWithoutRowComputesWithoutWriting() {
+        save(TransactionType.INCOME, "80.00");
+
+        assertBalance(balanceService.get(USER_ID), "80.00", 1, "0", 0);
+        assertThat(balanceRepository.existsById(USER_ID)).isFalse();
+    }
+
+    // ==================== DELTAS ====================
+
+    @Test
+    void laterWritesApplyOnlyTheirDelta() {
+        balanceService.onCreated(save(TransactionType.INCOME, "500.00"));
+        long seededVersion = stored().getVersion();
+
+        Transaction expense = save(TransactionType.EXPENSE, "120.00");
+        balanceService.onCreated(expense);
+        assertBalance(stored(), "500.00", 1, "120.00", 1);
+
+        TransactionSnapshot before = TransactionSnapshot.of(expense);
+        expense.setType(TransactionType.INCOME);
+        expense.setAmount(new BigDecimal("20.00"));
+        balanceService.onUpdated(before, transactionRepository.save(expense));
+        assertBalance(stored(), "520.00", 2, "0", 0);
+
+        balanceService.onDeleted(expense);
+        UserBalance balance = stored();
+        assertBalance(balance, "500.00", 1, "0", 0);
+        assertThat(balance.getVersion()).isEqualTo(seededVersion + 3);
+    }
+
+    // ==================== RECONCILIACIÓN ====================
+
+    @Test
+    void reconcileRepairsDriftAndLeavesConsistentRowsAlone() {
+        balanceService.onCreated(save(TransactionType.INCOME, "300.00"));
+        save(TransactionType.EXPENSE, "75.00"); // escritura que no pasó por el balance
+        entityManager.flush();
+
+        assertThat(balanceService.reconcile(USER_ID)).isTrue();
+        assertBalance(stored(), "300.00", 1, "75.00", 1);
+
+        assertThat(balanceService.reconcile(USER_ID)).isFalse();
+    }
+
+    @Test
+    void reconcileRepairsCorruptedTotals() {
+        balanceService.onCreated(save(TransactionType.INCOME, "300.00"));
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE user_balances SET total_income = 1, income_count = 7 WHERE user_id = ?", USER_ID);
+        entityManager.clear();
+
+        assertThat(balanceService.reconcile(USER_ID)).isTrue();
+        assertBalance(stored(), "300.00", 1, "0", 0);
+    }
+
+    @Test
+    void reconcileSeedsMissingRowWithoutReportingRepair() {
+        save(TransactionType.INCOME, "10.00");
+
+        assertThat(balanceService.reconcile(USER_ID)).isFalse();
+        assertBalance(stored(), "10.00", 1, "0", 0);
+    }
+}
@@ -0,0 +1,70 @@
+package com.myfinances.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suma de montos y cálculo de porcentajes con la misma aritmética que los reportes
+ * (BigDecimal, 4 decimales HALF_UP antes de multiplicar por 100)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BigDecimalMathBenchmark {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<BigDecimal> amounts;
+    private BigDecimal total;
+
+    @Setup
+    public void setUp() {
+        amounts = SyntheticLedger.generate(size).amounts();
+        total = sumLoop();
+    }
+
+    @Benchmark
+    public BigDecimal sumStream() {
+        return amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal sumLoop() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    /**
+     * Participación de cada monto en el total (como CategoryAggregator con cada transacción en su propio bucket)
+     */
+    @Benchmark
+    public void percentages(Blackhole blackhole) {
+        for (BigDecimal amount : amounts) {
+            blackhole.consume(amount.divide(total, 4, RoundingMode.HALF_UP).multiply(ONE_HUNDRED));
+        }
+    }
+}
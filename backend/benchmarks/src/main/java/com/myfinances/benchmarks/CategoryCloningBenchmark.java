@@ -0,0 +1,75 @@
+package com.myfinances.benchmarks;
+
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.repository.CategoryBatchWriter;
+import com.myfinances.account.repository.CategoryRepository;
+import com.myfinances.account.service.CategoryCache;
+import com.myfinances.account.service.CategoryInitializationService;
+import com.myfinances.account.service.SystemCategoryTemplates;
+import com.myfinances.account.service.UserDataVersionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Clonado del árbol de templates del sistema para un usuario nuevo (CategoryInitializationService)
+ * El INSERT por lotes se reemplaza por la asignación de IDs: se mide el recorrido por niveles y la copia
+ * 16 templates = tamaño actual de las categorías del sistema
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryCloningBenchmark {
+
+    @Param({"16", "1000"})
+    private int templates;
+
+    private CategoryInitializationService initializationService;
+
+    @Setup
+    public void setUp() {
+        SystemCategoryTemplates systemTemplates = Stubs.stub(SystemCategoryTemplates.class);
+        when(systemTemplates.get()).thenReturn(SyntheticLedger.templateTree(templates));
+
+        AtomicLong ids = new AtomicLong();
+        CategoryBatchWriter batchWriter = Stubs.stub(CategoryBatchWriter.class);
+        doAnswer(invocation -> {
+            List<CategoryType> categories = invocation.getArgument(0);
+            categories.forEach(category -> category.setId(ids.incrementAndGet()));
+            return null;
+        }).when(batchWriter).insertAllReturningIds(anyList());
+
+        // countByUserId del stub devuelve 0: cada invocación clona el árbol completo
+        initializationService = new CategoryInitializationService(
+                Stubs.stub(CategoryRepository.class),
+                Stubs.stub(CategoryCache.class),
+                Stubs.stub(UserDataVersionService.class),
+                batchWriter,
+                systemTemplates);
+    }
+
+    @Benchmark
+    public void initializeUserCategories() {
+        initializationService.initializeUserCategories(UUID.randomUUID());
+    }
+}
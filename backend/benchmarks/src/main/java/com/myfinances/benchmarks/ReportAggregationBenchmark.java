@@ -0,0 +1,87 @@
+package com.myfinances.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfinances.account.dto.CategorySummaryDTO;
+import com.myfinances.account.dto.MonthlySummaryDTO;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.MonthlySummarySnapshotRepository;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.service.CategoryAggregator;
+import com.myfinances.account.service.MonthBoundaries;
+import com.myfinances.account.service.MonthlyRollupService;
+import com.myfinances.account.service.ReportCache;
+import com.myfinances.account.service.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * ⭐ Agregado de reportes de ReportService (resumen mensual y gastos por categoría)
+ * Las consultas devuelven una fila por transacción y la caché de reportes siempre recalcula:
+ * se mide solo el agregado en memoria (totales, buckets por categoría, porcentajes, orden)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ReportAggregationBenchmark {
+
+    private static final YearMonth PERIOD = YearMonth.of(2025, 12);
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private ReportService reportService;
+
+    @Setup
+    public void setUp() {
+        SyntheticLedger ledger = SyntheticLedger.generate(size);
+
+        MonthlyRollupService rollups = Stubs.stub(MonthlyRollupService.class);
+        when(rollups.findTotalsForMonth(any(), anyInt(), anyInt())).thenReturn(ledger.rowsPerTransaction());
+
+        TransactionRepository transactions = Stubs.stub(TransactionRepository.class);
+        when(transactions.sumByCategoryForType(any(), any()))
+                .thenReturn(ledger.rowsPerTransaction(TransactionType.EXPENSE));
+
+        // Mes en curso: el resumen se calcula siempre, sin pasar por los resúmenes precalculados
+        MonthBoundaries boundaries = Stubs.stub(MonthBoundaries.class);
+        when(boundaries.currentMonth(any())).thenReturn(PERIOD);
+
+        ReportCache cache = Stubs.stub(ReportCache.class);
+        doAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get())
+                .when(cache).get(any(), any(), any(), any());
+
+        reportService = new ReportService(transactions, rollups, new CategoryAggregator(), boundaries, cache,
+                Stubs.stub(MonthlySummarySnapshotRepository.class), new ObjectMapper());
+    }
+
+    @Benchmark
+    public MonthlySummaryDTO monthlySummary() {
+        return reportService.getMonthlySummary(SyntheticLedger.USER_ID, PERIOD.getYear(), PERIOD.getMonthValue());
+    }
+
+    @Benchmark
+    public CategorySummaryDTO.CategorySummaryResponse allExpensesByCategory() {
+        return reportService.getAllExpensesByCategory(SyntheticLedger.USER_ID);
+    }
+}
@@ -0,0 +1,17 @@
+package com.myfinances.benchmarks;
+
+import org.mockito.Mockito;
+
+/**
+ * Colaboradores simulados para aislar el código medido de la base y de otros servicios
+ * stubOnly: no registran invocaciones (con millones de llamadas serían memoria retenida y ruido en la medición)
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+}
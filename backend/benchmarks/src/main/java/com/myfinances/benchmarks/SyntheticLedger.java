@@ -0,0 +1,163 @@
+package com.myfinances.benchmarks;
+
+import com.myfinances.account.model.CategoryType;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.model.TransactionType;
+import com.myfinances.account.repository.projection.CategoryTotalView;
+import com.myfinances.account.service.SystemCategoryTemplates;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Datos sintéticos de un usuario, deterministas (misma semilla → mismos datos en cada corrida)
+ * Historial de 5 años, ~80% egresos, montos con 2 decimales
+ */
+public final class SyntheticLedger {
+
+    public static final UUID USER_ID = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+    private static final long SEED = 20240601L;
+    private static final LocalDateTime END = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int HISTORY_MINUTES = 5 * 365 * 24 * 60;
+
+    private static final Object[][] CATEGORIES = {
+            {"Salario", TransactionType.INCOME},
+            {"Dividendos", TransactionType.INCOME},
+            {"Alquileres", TransactionType.INCOME},
+            {"Hogar", TransactionType.EXPENSE},
+            {"Supermercado", TransactionType.EXPENSE},
+            {"Luz", TransactionType.EXPENSE},
+            {"Gas", TransactionType.EXPENSE},
+            {"Agua", TransactionType.EXPENSE},
+            {"Alquiler", TransactionType.EXPENSE},
+            {"Transporte", TransactionType.EXPENSE},
+            {"Seguro Auto", TransactionType.EXPENSE},
+            {"Combustible Auto", TransactionType.EXPENSE},
+            {"Salud", TransactionType.EXPENSE},
+            {"Educación", TransactionType.EXPENSE},
+            {"Entretenimiento", TransactionType.EXPENSE},
+    };
+
+    private final List<CategoryType> incomeCategories = new ArrayList<>();
+    private final List<CategoryType> expenseCategories = new ArrayList<>();
+    private final List<Transaction> transactions;
+
+    private SyntheticLedger(int size) {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            TransactionType type = (TransactionType) CATEGORIES[i][1];
+            CategoryType category = CategoryType.builder()
+                    .id((long) i + 1)
+                    .userId(USER_ID)
+                    .name((String) CATEGORIES[i][0])
+                    .type(type)
+                    .isSystem(false)
+                    .build();
+            (type == TransactionType.INCOME ? incomeCategories : expenseCategories).add(category);
+        }
+
+        Random random = new Random(SEED);
+        transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean income = random.nextInt(5) == 0;
+            List<CategoryType> candidates = income ? incomeCategories : expenseCategories;
+            CategoryType category = candidates.get(random.nextInt(candidates.size()));
+            long cents = income ? random.nextLong(50_000, 2_000_000) : random.nextLong(100, 200_000);
+
+            transactions.add(Transaction.builder()
+                    .id((long) i + 1)
+                    .userId(USER_ID)
+                    .description(category.getName() + " " + i)
+                    .amount(BigDecimal.valueOf(cents, 2))
+                    .type(category.getType())
+                    .category(category)
+                    .date(END.minusMinutes(random.nextInt(HISTORY_MINUTES)))
+                    .notes(random.nextInt(4) == 0 ? "Nota " + i : null)
+                    .linkedToInvestment(false)
+                    .build());
+        }
+    }
+
+    public static SyntheticLedger generate(int size) {
+        return new SyntheticLedger(size);
+    }
+
+    public List<Transaction> transactions() {
+        return transactions;
+    }
+
+    public List<BigDecimal> amounts() {
+        return transactions.stream().map(Transaction::getAmount).toList();
+    }
+
+    /**
+     * Una fila por transacción: el peor caso del agregado en memoria (la base normalmente ya agrupa)
+     */
+    public List<CategoryTotalView> rowsPerTransaction() {
+        return transactions.stream().<CategoryTotalView>map(Row::of).toList();
+    }
+
+    public List<CategoryTotalView> rowsPerTransaction(TransactionType type) {
+        return transactions.stream()
+                .filter(transaction -> transaction.getType() == type)
+                .<CategoryTotalView>map(Row::of)
+                .toList();
+    }
+
+    /**
+     * Árbol de templates con el formato de las categorías del sistema: raíces con hasta 5 hijas
+     */
+    public static SystemCategoryTemplates.Tree templateTree(int size) {
+        List<SystemCategoryTemplates.Template> roots = new ArrayList<>();
+        int created = 0;
+        for (int root = 0; created < size; root++) {
+            TransactionType type = root % 4 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            created++;
+            List<SystemCategoryTemplates.Template> children = new ArrayList<>();
+            for (int child = 0; child < 5 && created < size; child++, created++) {
+                children.add(new SystemCategoryTemplates.Template(
+                        "Categoría " + root + "." + child, type, "Subcategoría " + child, List.of()));
+            }
+            roots.add(new SystemCategoryTemplates.Template("Categoría " + root, type, "Raíz " + root, children));
+        }
+        return new SystemCategoryTemplates.Tree(roots, created);
+    }
+
+    private record Row(Long categoryId, String categoryName, TransactionType type, BigDecimal total)
+            implements CategoryTotalView {
+
+        static Row of(Transaction transaction) {
+            return new Row(transaction.getCategory().getId(), transaction.getCategory().getName(),
+                    transaction.getType(), transaction.getAmount());
+        }
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public String getCategoryName() {
+            return categoryName;
+        }
+
+        @Override
+        public TransactionType getType() {
+            return type;
+        }
+
+        @Override
+        public BigDecimal getTotal() {
+            return total;
+        }
+
+        @Override
+        public Long getCount() {
+            return 1L;
+        }
+    }
+}
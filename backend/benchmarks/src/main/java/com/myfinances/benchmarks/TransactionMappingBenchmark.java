@@ -0,0 +1,65 @@
+package com.myfinances.benchmarks;
+
+import com.myfinances.account.dto.TransactionResponseDTO;
+import com.myfinances.account.model.Transaction;
+import com.myfinances.account.repository.TransactionRepository;
+import com.myfinances.account.service.CategoryCache;
+import com.myfinances.account.service.DailyLedgerService;
+import com.myfinances.account.service.MonthBoundaries;
+import com.myfinances.account.service.MonthlyRollupService;
+import com.myfinances.account.service.TransactionSearchIndex;
+import com.myfinances.account.service.TransactionService;
+import com.myfinances.account.service.UserBalanceService;
+import com.myfinances.account.service.UserDataVersionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de entidades a DTOs de respuesta (TransactionService.toResponseDTOList)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TransactionMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private TransactionService transactionService;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        transactions = SyntheticLedger.generate(size).transactions();
+        // La conversión no usa colaboradores
+        transactionService = new TransactionService(
+                Stubs.stub(TransactionRepository.class),
+                Stubs.stub(CategoryCache.class),
+                Stubs.stub(MonthlyRollupService.class),
+                Stubs.stub(UserBalanceService.class),
+                Stubs.stub(DailyLedgerService.class),
+                Stubs.stub(MonthBoundaries.class),
+                Stubs.stub(TransactionSearchIndex.class),
+                Stubs.stub(UserDataVersionService.class));
+    }
+
+    @Benchmark
+    public List<TransactionResponseDTO> toResponseDTOList() {
+        return transactionService.toResponseDTOList(transactions);
+    }
+}
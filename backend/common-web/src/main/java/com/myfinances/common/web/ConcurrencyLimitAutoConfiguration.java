@@ -0,0 +1,38 @@
+package com.myfinances.common.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Registra ConcurrencyLimitFilter en los servicios que atienden con virtual threads
+ *
+ * Configuración (la misma en todos los servicios):
+ * - myfinances.concurrency.max-in-flight: requests en curso; 0 (default) = el doble del pool de Hikari
+ * - myfinances.concurrency.acquire-timeout: espera máxima por un lugar antes del 503 (default PT5S)
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitAutoConfiguration {
+
+    /**
+     * Requests en curso por conexión del pool cuando max-in-flight no está configurado
+     */
+    static final int REQUESTS_PER_CONNECTION = 2;
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(
+            @Value("${myfinances.concurrency.max-in-flight:0}") int maxInFlight,
+            @Value("${myfinances.concurrency.acquire-timeout:PT5S}") Duration acquireTimeout,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${management.endpoints.web.base-path:/actuator}") String managementBasePath) {
+        int limit = maxInFlight > 0 ? maxInFlight : poolSize * REQUESTS_PER_CONNECTION;
+        return new ConcurrencyLimitFilter(limit, acquireTimeout, managementBasePath);
+    }
+}
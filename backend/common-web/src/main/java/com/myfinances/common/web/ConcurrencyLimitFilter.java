@@ -0,0 +1,77 @@
+package com.myfinances.common.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⭐ Límite de requests en curso cuando Tomcat atiende con virtual threads
+ *
+ * Con virtual threads (spring.threads.virtual.enabled=true) Tomcat ya no tiene un pool que acote la concurrencia:
+ * sin este límite una ráfaga deja miles de requests esperando una conexión de Hikari, que fallan juntas al
+ * vencer connection-timeout. Las que exceden el límite esperan hasta acquire-timeout y después reciben 503
+ *
+ * El límite se deriva del pool de conexiones (ver ConcurrencyLimitAutoConfiguration): la espera se hace acá,
+ * en orden de llegada, y no dentro de Hikari
+ * Los endpoints de actuator no cuentan: las sondas de Kubernetes no deben fallar por la carga
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements Ordered {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final String managementPrefix;
+
+    public ConcurrencyLimitFilter(int maxInFlight, Duration acquireTimeout, String managementBasePath) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.managementPrefix = managementBasePath.endsWith("/") ? managementBasePath : managementBasePath + "/";
+        log.info("Límite de requests en curso: {} (espera máxima {})", maxInFlight, acquireTimeout);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + managementPrefix);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.warn("Request rechazada por límite de concurrencia: {} {}", request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servicio saturado, reintente en unos segundos");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.myfinances.investment.repository;
+
+import com.myfinances.investment.model.Investment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * ⭐ INSERT de inversiones por lotes JDBC (un round trip por lote)
+ * Investment usa IDENTITY, lo que impide que Hibernate agrupe los INSERT;
+ * createdAt/updatedAt se escriben tal como vienen (no pasan por @CreationTimestamp)
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvestmentBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO investments " +
+            "(user_id, type, description, initial_capital, current_capital, investment_date, notes, " +
+            "linked_transaction_created, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Investment> investments) {
+        if (investments.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Investment investment = investments.get(i);
+                ps.setObject(1, investment.getUserId());
+                ps.setString(2, investment.getType());
+                ps.setString(3, investment.getDescription());
+                ps.setBigDecimal(4, investment.getInitialCapital());
+                ps.setBigDecimal(5, investment.getCurrentCapital());
+                ps.setObject(6, investment.getInvestmentDate());
+                ps.setString(7, investment.getNotes());
+                ps.setBoolean(8, Boolean.TRUE.equals(investment.getLinkedTransactionCreated()));
+                ps.setObject(9, investment.getCreatedAt());
+                ps.setObject(10, investment.getUpdatedAt());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return investments.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,134 @@
+package com.myfinances.investment.service;
+
+import com.myfinances.investment.model.Investment;
+import com.myfinances.investment.repository.InvestmentBatchWriter;
+import com.myfinances.investment.repository.InvestmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * 🧪 Genera la cartera sintética de un usuario (perfil "datagen")
+ *
+ * - Mismos IDs de usuario que el generador de account-service (misma semilla e índice)
+ * - Aportes a lo largo del período en ACCION, BONO, PLAZO_FIJO, CRYPTO y FONDO; el capital actual
+ *   refleja el rendimiento mensual de cada tipo (con volatilidad) desde la fecha de la inversión
+ * - Los INSERT van por JDBC en un solo lote por usuario
+ *
+ * Determinista: la misma semilla, índice de usuario y mes final generan exactamente los mismos datos
+ */
+@Service
+@Profile(DatasetGenerator.PROFILE)
+@RequiredArgsConstructor
+@Transactional
+public class DatasetGenerator {
+
+    public static final String PROFILE = "datagen";
+
+    private static final Kind[] KINDS = {
+            new Kind("PLAZO_FIJO", 0.30, 0.025, 0.0, new String[]{"Plazo fijo Banco Nación", "Plazo fijo Galicia", "Plazo fijo UVA"}),
+            new Kind("FONDO", 0.25, 0.02, 0.03, new String[]{"FCI Money Market", "FCI Renta Fija", "FCI Renta Mixta"}),
+            new Kind("BONO", 0.20, 0.018, 0.05, new String[]{"Bono AL30", "Bono GD30", "Obligación negociable YPF"}),
+            new Kind("ACCION", 0.17, 0.022, 0.09, new String[]{"Acciones GGAL", "Acciones YPF", "CEDEAR AAPL", "CEDEAR MSFT"}),
+            new Kind("CRYPTO", 0.08, 0.03, 0.2, new String[]{"Bitcoin", "Ethereum", "USDT"})
+    };
+
+    private final InvestmentRepository investmentRepository;
+    private final InvestmentBatchWriter batchWriter;
+
+    /**
+     * ID del usuario sintético número index para una semilla (igual que en account-service)
+     */
+    public static UUID userId(long seed, int index) {
+        return UUID.nameUUIDFromBytes(("myfinances-datagen:" + seed + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Genera las inversiones del usuario hechas entre first y last (inclusive)
+     * Devuelve la cantidad creada, o -1 si el usuario ya tenía inversiones
+     */
+    public long generateUser(UUID userId, long seed, int index, YearMonth first, YearMonth last, int perYear) {
+        if (investmentRepository.countByUserId(userId) > 0) {
+            return -1;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed * 0xD1B54A32D192ED03L + index);
+        double propensity = random.nextDouble() * 2 * perYear / 12.0; // aportes esperados por mes
+        double budget = random.nextInt(50, 2001) * 1000.0;
+        LocalDateTime now = last.atEndOfMonth().atTime(23, 59);
+
+        List<Investment> investments = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            for (double left = propensity; left > 0; left--) {
+                if (random.nextDouble() >= left) {
+                    break;
+                }
+                investments.add(investment(userId, random, month, budget, now));
+            }
+        }
+
+        batchWriter.insertAll(investments);
+        return investments.size();
+    }
+
+    private static Investment investment(UUID userId, SplittableRandom random, YearMonth month, double budget,
+                                         LocalDateTime now) {
+        Kind kind = Kind.pick(random.nextDouble());
+        LocalDateTime date = month.atDay(random.nextInt(1, month.lengthOfMonth() + 1))
+                .atTime(random.nextInt(9, 18), random.nextInt(60));
+
+        double initial = budget * (0.05 + random.nextDouble() * 0.25);
+        double current = initial;
+        long months = ChronoUnit.MONTHS.between(date, now);
+        for (long m = 0; m < months; m++) {
+            current *= Math.max(0.5, 1 + kind.monthlyReturn + random.nextGaussian() * kind.volatility);
+        }
+        LocalDateTime updatedAt = months > 0 ? now.minusDays(random.nextInt(0, 30)) : date;
+
+        return Investment.builder()
+                .userId(userId)
+                .type(kind.type)
+                .description(kind.descriptions[random.nextInt(kind.descriptions.length)])
+                .initialCapital(money(initial))
+                .currentCapital(money(current))
+                .investmentDate(date)
+                .notes(random.nextInt(4) == 0 ? "Generado (datagen)" : null)
+                .linkedTransactionCreated(false)
+                .createdAt(date)
+                .updatedAt(updatedAt.isBefore(date) ? date : updatedAt)
+                .build();
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Tipo de inversión: peso en la cartera, rendimiento mensual medio y volatilidad
+     */
+    private record Kind(String type, double weight, double monthlyReturn, double volatility, String[] descriptions) {
+
+        static Kind pick(double value) {
+            double cumulative = 0;
+            for (Kind kind : KINDS) {
+                cumulative += kind.weight;
+                if (value < cumulative) {
+                    return kind;
+                }
+            }
+            return KINDS[KINDS.length - 1];
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.myfinances.investment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * 🧪 Carga inversiones sintéticas al iniciar con el perfil "datagen" (H2 o Postgres)
+ *
+ *   --spring.profiles.active=datagen --investment.datagen.users=100 --investment.datagen.seed=7
+ *
+ * Usar la misma semilla, cantidad de usuarios, years y until que en account-service para que las
+ * carteras correspondan a los mismos usuarios. Configuración (investment.datagen.*): seed, users, years,
+ * until (yyyy-MM, por defecto el mes actual), per-year (aportes promedio por año)
+ * Los usuarios que ya tienen inversiones se saltean
+ */
+@Component
+@Profile(DatasetGenerator.PROFILE)
+@Slf4j
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private final DatasetGenerator generator;
+    private final long seed;
+    private final int users;
+    private final int years;
+    private final YearMonth until;
+    private final int perYear;
+
+    public DatasetGeneratorRunner(
+            DatasetGenerator generator,
+            @Value("${investment.datagen.seed:42}") long seed,
+            @Value("${investment.datagen.users:10}") int users,
+            @Value("${investment.datagen.years:5}") int years,
+            @Value("${investment.datagen.until:}") String until,
+            @Value("${investment.datagen.per-year:6}") int perYear) {
+        this.generator = generator;
+        this.seed = seed;
+        this.users = users;
+        this.years = years;
+        this.until = until.isBlank() ? YearMonth.now() : YearMonth.parse(until);
+        this.perYear = perYear;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        YearMonth first = until.minusYears(years).plusMonths(1);
+        log.info("Generando inversiones sintéticas: {} usuarios, {} a {}, semilla {}", users, first, until, seed);
+
+        long start = System.nanoTime();
+        long investments = 0;
+        int skipped = 0;
+        for (int index = 0; index < users; index++) {
+            UUID userId = DatasetGenerator.userId(seed, index);
+            long created = generator.generateUser(userId, seed, index, first, until, perYear);
+            if (created < 0) {
+                skipped++;
+            } else {
+                investments += created;
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("✅ Inversiones sintéticas: {} usuarios nuevos ({} ya existían), {} inversiones en {} ms",
+                users - skipped, skipped, investments, millis);
+        log.info("Usuario de ejemplo: X-User-Id {}", DatasetGenerator.userId(seed, 0));
+    }
+}
@@ -0,0 +1,60 @@
+package com.myfinances.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Cliente HTTP de la prueba: cada llamada lleva el nombre del método de controller que la atiende
+ * y queda registrada en el LatencyRecorder de la fase en curso
+ *
+ * El header X-User-Id va directo, como lo deja el gateway después de validar el token
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    record Response(int status, String body) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    Response get(LatencyRecorder recorder, String operation, String url, UUID userId) throws InterruptedException {
+        return send(recorder, operation, "GET", url, userId, null);
+    }
+
+    Response send(LatencyRecorder recorder, String operation, String method, String url, UUID userId, String json)
+            throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("X-User-Id", userId.toString());
+        if (json != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(operation, response.statusCode(), System.nanoTime() - start);
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            recorder.record(operation, LatencyRecorder.NO_RESPONSE, System.nanoTime() - start);
+            return new Response(LatencyRecorder.NO_RESPONSE, e.toString());
+        }
+    }
+}
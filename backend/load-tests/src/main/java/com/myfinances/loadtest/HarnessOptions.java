@@ -0,0 +1,135 @@
+package com.myfinances.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parámetros de una corrida (--clave=valor en la línea de comandos)
+ *
+ * Los valores por defecto generan 10 usuarios con 5 años de historial y miden 30 s con 50 clientes
+ * El mes final de los datos se fija para que dos corridas con la misma semilla usen exactamente los mismos datos
+ */
+record HarnessOptions(
+        int clients,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        long seed,
+        int users,
+        int years,
+        YearMonth until,
+        int dashboardWeight,
+        int writeWeight,
+        int reportWeight,
+        int reportBurst,
+        boolean virtualThreads,
+        boolean realInvestmentClient,
+        int remoteLatencyMs,
+        String serviceJvmArgs,
+        Path accountJar,
+        Path investmentJar,
+        Path outputDir,
+        Path baseline,
+        Duration startupTimeout) {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("clients", "50");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("think-ms", "0");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("users", "10");
+        DEFAULTS.put("years", "5");
+        DEFAULTS.put("until", "2026-09");
+        DEFAULTS.put("mix", "60,30,10");
+        DEFAULTS.put("report-burst", "8");
+        DEFAULTS.put("virtual-threads", "false");
+        DEFAULTS.put("investment-client", "stub");
+        DEFAULTS.put("remote-latency-ms", "20");
+        DEFAULTS.put("service-jvm-args", "-Xmx512m");
+        DEFAULTS.put("account-jar", "../account-service/target/account-service-0.0.1-SNAPSHOT-exec.jar");
+        DEFAULTS.put("investment-jar", "../investment-service/target/investment-service-0.0.1-SNAPSHOT.jar");
+        DEFAULTS.put("out", "target/load-results");
+        DEFAULTS.put("baseline", "");
+        DEFAULTS.put("startup-timeout", "300");
+    }
+
+    static HarnessOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera --clave=valor): " + arg);
+            }
+            String key = arg.substring(2, equals);
+            if (!DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Opción desconocida: --" + key + " (opciones: " + DEFAULTS.keySet() + ")");
+            }
+            values.put(key, arg.substring(equals + 1));
+        }
+
+        String[] mix = values.get("mix").split(",");
+        if (mix.length != 3) {
+            throw new IllegalArgumentException("--mix espera tres pesos: dashboard,escrituras,reportes");
+        }
+        String investmentClient = values.get("investment-client");
+        if (!Set.of("stub", "real").contains(investmentClient)) {
+            throw new IllegalArgumentException("--investment-client debe ser stub o real");
+        }
+
+        return new HarnessOptions(
+                Integer.parseInt(values.get("clients")),
+                Duration.ofSeconds(Long.parseLong(values.get("warmup"))),
+                Duration.ofSeconds(Long.parseLong(values.get("duration"))),
+                Duration.ofMillis(Long.parseLong(values.get("think-ms"))),
+                Long.parseLong(values.get("seed")),
+                Integer.parseInt(values.get("users")),
+                Integer.parseInt(values.get("years")),
+                YearMonth.parse(values.get("until")),
+                Integer.parseInt(mix[0].trim()),
+                Integer.parseInt(mix[1].trim()),
+                Integer.parseInt(mix[2].trim()),
+                Integer.parseInt(values.get("report-burst")),
+                Boolean.parseBoolean(values.get("virtual-threads")),
+                investmentClient.equals("real"),
+                Integer.parseInt(values.get("remote-latency-ms")),
+                values.get("service-jvm-args"),
+                Path.of(values.get("account-jar")),
+                Path.of(values.get("investment-jar")),
+                Path.of(values.get("out")),
+                values.get("baseline").isBlank() ? null : Path.of(values.get("baseline")),
+                Duration.ofSeconds(Long.parseLong(values.get("startup-timeout"))));
+    }
+
+    /**
+     * Parámetros que definen la corrida, para guardarlos junto a los resultados
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("clients", clients);
+        description.put("warmupSeconds", warmup.toSeconds());
+        description.put("durationSeconds", duration.toSeconds());
+        description.put("thinkTimeMs", thinkTime.toMillis());
+        description.put("seed", seed);
+        description.put("users", users);
+        description.put("years", years);
+        description.put("until", until.toString());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("dashboard", dashboardWeight);
+        mix.put("writes", writeWeight);
+        mix.put("reports", reportWeight);
+        description.put("mix", mix);
+        description.put("reportBurst", reportBurst);
+        description.put("virtualThreads", virtualThreads);
+        description.put("investmentClient", realInvestmentClient ? "real" : "stub");
+        description.put("remoteLatencyMs", remoteLatencyMs);
+        description.put("serviceJvmArgs", serviceJvmArgs);
+        return description;
+    }
+}
@@ -0,0 +1,99 @@
+package com.myfinances.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencias por operación (método de controller) durante una fase de la corrida
+ * Solo las respuestas 2xx cuentan para los percentiles; el resto se cuenta como error por código de estado
+ */
+final class LatencyRecorder {
+
+    /**
+     * Código registrado cuando la request no obtuvo respuesta (timeout, conexión rechazada)
+     */
+    static final int NO_RESPONSE = -1;
+
+    private final Map<String, Samples> operations = new ConcurrentHashMap<>();
+
+    void record(String operation, int status, long nanos) {
+        operations.computeIfAbsent(operation, name -> new Samples()).add(status, nanos);
+    }
+
+    /**
+     * Operaciones ordenadas por nombre, con sus latencias ordenadas
+     */
+    Map<String, Stats> snapshot() {
+        Map<String, Stats> stats = new TreeMap<>();
+        operations.forEach((name, samples) -> stats.put(name, samples.stats()));
+        return stats;
+    }
+
+    /**
+     * Todas las latencias exitosas juntas, para los totales de la corrida
+     */
+    static Stats merge(Iterable<Stats> all) {
+        long[] latencies = new long[0];
+        Map<Integer, Long> statuses = new TreeMap<>();
+        long errors = 0;
+        for (Stats stats : all) {
+            long[] merged = Arrays.copyOf(latencies, latencies.length + stats.latencies.length);
+            System.arraycopy(stats.latencies, 0, merged, latencies.length, stats.latencies.length);
+            latencies = merged;
+            errors += stats.errors;
+            stats.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+        Arrays.sort(latencies);
+        return new Stats(latencies, errors, statuses);
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        synchronized void add(int status, long nanos) {
+            statuses.merge(status, 1L, Long::sum);
+            if (status < 200 || status >= 300) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized Stats stats() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Stats(sorted, errors, new TreeMap<>(statuses));
+        }
+    }
+
+    /**
+     * Latencias exitosas (ns, ordenadas), errores y respuestas por código de estado
+     */
+    record Stats(long[] latencies, long errors, Map<Integer, Long> statuses) {
+
+        long successes() {
+            return latencies.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+
+        double meanMillis() {
+            return latencies.length == 0 ? 0 : Arrays.stream(latencies).average().orElse(0) / 1e6;
+        }
+    }
+}
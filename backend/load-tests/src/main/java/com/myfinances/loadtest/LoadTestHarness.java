@@ -0,0 +1,102 @@
+package com.myfinances.loadtest;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🧪 Prueba de carga de account-service e investment-service
+ *
+ * 1. Levanta un reemplazo local de InvestmentClient (Feign) y de user-service (RemoteStub)
+ * 2. Levanta ambos servicios como procesos hijos sobre H2 embebido, con el perfil datagen: los mismos usuarios
+ *    sintéticos en los dos servicios (misma semilla)
+ * 3. Calienta la JVM con la misma carga durante --warmup segundos y descarta esas mediciones
+ * 4. Mide la carga mixta (Workload) durante --duration segundos
+ * 5. Imprime throughput y p50/p95/p99 por método de controller y los guarda en JSON (--out);
+ *    con --baseline compara contra una corrida anterior
+ *
+ *   java -jar target/load-tests.jar --clients=100 --duration=60 --virtual-threads=true
+ *   java -jar target/load-tests.jar --mix=20,0,80 --report-burst=16 --baseline=target/load-results/load-X.json
+ *
+ * Con --investment-client=real account-service llama al investment-service levantado en lugar del stub
+ * Termina con código 1 si alguna request falló
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        HarnessOptions options = HarnessOptions.parse(args);
+        System.exit(run(options) == 0 ? 0 : 1);
+    }
+
+    private static long run(HarnessOptions options) throws Exception {
+        Path logs = options.outputDir().resolve("logs");
+        int accountPort = ServiceProcess.freePort();
+        int investmentPort = ServiceProcess.freePort();
+        String accountUrl = "http://localhost:" + accountPort;
+        String investmentUrl = "http://localhost:" + investmentPort;
+
+        try (RemoteStub stub = new RemoteStub(options.remoteLatencyMs())) {
+            List<String> investmentArgs = commonArgs(options, "investment");
+            investmentArgs.add("--services.account-service.url=" + accountUrl);
+
+            List<String> accountArgs = commonArgs(options, "account");
+            accountArgs.add("--services.investment-service.url=" + (options.realInvestmentClient() ? investmentUrl : stub.baseUrl()));
+            accountArgs.add("--services.user-service.url=" + stub.baseUrl());
+            accountArgs.add("--account.snapshot.cron=-");
+            accountArgs.add("--account.balance.reconcile-cron=-");
+            accountArgs.add("--account.ledger.reconcile-cron=-");
+
+            System.out.printf("Levantando servicios y generando %d usuarios (logs en %s)...%n", options.users(), logs);
+            try (ServiceProcess investment = ServiceProcess.start("investment-service", options.investmentJar(),
+                    investmentPort, options.serviceJvmArgs(), investmentArgs, logs);
+                 ServiceProcess account = ServiceProcess.start("account-service", options.accountJar(),
+                         accountPort, options.serviceJvmArgs(), accountArgs, logs)) {
+                investment.awaitReady(options.startupTimeout());
+                account.awaitReady(options.startupTimeout());
+
+                ApiClient api = new ApiClient();
+                Workload workload = Workload.prepare(options, api, accountUrl, investmentUrl);
+
+                if (!options.warmup().isZero()) {
+                    System.out.printf("Calentamiento: %d s con %d clientes%n", options.warmup().toSeconds(), options.clients());
+                    workload.run(options.warmup(), new LatencyRecorder(), 0);
+                }
+
+                System.out.printf("Medición: %d s con %d clientes%n", options.duration().toSeconds(), options.clients());
+                LatencyRecorder recorder = new LatencyRecorder();
+                Instant startedAt = Instant.now();
+                Map<String, Long> scenarios = workload.run(options.duration(), recorder, 1);
+                RunReport report = new RunReport(options, startedAt, Instant.now(), scenarios, recorder.snapshot());
+
+                report.print(System.out);
+                System.out.println("Resultados: " + report.write(options.outputDir()));
+                if (options.baseline() != null) {
+                    report.compare(options.baseline(), System.out);
+                }
+                return report.errors();
+            }
+        }
+    }
+
+    private static List<String> commonArgs(HarnessOptions options, String prefix) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.profiles.active=datagen");
+        args.add("--spring.cloud.config.enabled=false");
+        args.add("--spring.threads.virtual.enabled=" + options.virtualThreads());
+        args.add("--management.endpoint.health.probes.enabled=true");
+        args.add("--management.tracing.enabled=false");
+        args.add("--spring.autoconfigure.exclude=org.springframework.boot.actuate.autoconfigure.tracing.zipkin.ZipkinAutoConfiguration");
+        args.add("--logging.level.root=WARN");
+        args.add("--logging.level.com.myfinances." + prefix + ".service.DatasetGeneratorRunner=INFO");
+        args.add("--" + prefix + ".datagen.seed=" + options.seed());
+        args.add("--" + prefix + ".datagen.users=" + options.users());
+        args.add("--" + prefix + ".datagen.years=" + options.years());
+        args.add("--" + prefix + ".datagen.until=" + options.until());
+        return args;
+    }
+}
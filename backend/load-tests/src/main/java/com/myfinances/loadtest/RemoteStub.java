@@ -0,0 +1,69 @@
+package com.myfinances.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reemplazo local de los servicios remotos que no se levantan en la prueba
+ *
+ * - GET /api/v1/investments/user/{userId}: lo que responde investment-service al InvestmentClient (Feign) de
+ *   account-service; un total determinista por usuario
+ * - GET /api/v1/users/profile: user-service (Keycloak) no se levanta; un perfil vacío usa la zona por defecto
+ *
+ * Cada respuesta espera la latencia configurada, como una llamada real dentro del cluster
+ */
+final class RemoteStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int latencyMs;
+
+    RemoteStub(int latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/api/v1/investments/user/", this::investmentTotal);
+        server.createContext("/api/v1/users/profile", exchange -> respond(exchange, "{}"));
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void investmentTotal(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        UUID userId = UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+        long cents = Math.floorMod(userId.getLeastSignificantBits(), 1_000_000_000L);
+        respond(exchange, cents / 100 + "." + String.format("%02d", cents % 100));
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,140 @@
+package com.myfinances.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de una corrida: tabla en consola y JSON para comparar corridas
+ *
+ * Formato del JSON (tiempos en ms, throughput en requests exitosas por segundo):
+ *   run:        parámetros, inicio y fin
+ *   scenarios:  iteraciones completadas por escenario
+ *   total:      todas las operaciones juntas
+ *   operations: por método de controller (p. ej. "ReportController.getCashflow")
+ *               requests, errors, throughput, meanMs, p50Ms, p95Ms, p99Ms, maxMs, statuses
+ */
+final class RunReport {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Map<String, Object> document = new LinkedHashMap<>();
+    private final Map<String, LatencyRecorder.Stats> operations;
+    private final LatencyRecorder.Stats total;
+    private final Duration duration;
+    private final Instant startedAt;
+
+    RunReport(HarnessOptions options, Instant startedAt, Instant finishedAt, Map<String, Long> scenarios,
+              Map<String, LatencyRecorder.Stats> operations) {
+        this.operations = operations;
+        this.total = LatencyRecorder.merge(operations.values());
+        this.duration = options.duration();
+        this.startedAt = startedAt;
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", startedAt.toString());
+        run.put("finishedAt", finishedAt.toString());
+        run.put("options", options.describe());
+        document.put("run", run);
+        document.put("scenarios", scenarios);
+        document.put("total", describe(total));
+        Map<String, Object> byOperation = new LinkedHashMap<>();
+        operations.forEach((name, stats) -> byOperation.put(name, describe(stats)));
+        document.put("operations", byOperation);
+    }
+
+    private Map<String, Object> describe(LatencyRecorder.Stats stats) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("requests", stats.successes() + stats.errors());
+        values.put("errors", stats.errors());
+        values.put("throughput", round(stats.successes() / (duration.toNanos() / 1e9)));
+        values.put("meanMs", round(stats.meanMillis()));
+        values.put("p50Ms", round(stats.percentileMillis(50)));
+        values.put("p95Ms", round(stats.percentileMillis(95)));
+        values.put("p99Ms", round(stats.percentileMillis(99)));
+        values.put("maxMs", round(stats.percentileMillis(100)));
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        stats.statuses().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+        values.put("statuses", statuses);
+        return values;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    long errors() {
+        return total.errors();
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("load-" + FILE_NAME.format(startedAt) + ".json");
+        JSON.writeValue(file.toFile(), document);
+        return file;
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%n%-50s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operación", "requests", "errores", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        operations.forEach((name, stats) -> printRow(out, name, stats));
+        printRow(out, "TOTAL", total);
+        out.println("escenarios completados: " + document.get("scenarios"));
+    }
+
+    private void printRow(PrintStream out, String name, LatencyRecorder.Stats stats) {
+        out.printf(Locale.ROOT, "%-50s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name,
+                stats.successes() + stats.errors(), stats.errors(), stats.successes() / (duration.toNanos() / 1e9),
+                stats.percentileMillis(50), stats.percentileMillis(95), stats.percentileMillis(99),
+                stats.percentileMillis(100));
+    }
+
+    /**
+     * Diferencias porcentuales contra una corrida anterior (mismo formato JSON)
+     * Throughput: positivo es mejor; percentiles: negativo es mejor
+     */
+    void compare(Path baselineFile, PrintStream out) throws IOException {
+        JsonNode baseline = JSON.readTree(baselineFile.toFile());
+        JsonNode current = JSON.valueToTree(document);
+
+        out.printf(Locale.ROOT, "%nComparación contra %s%n", baselineFile);
+        if (!baseline.path("run").path("options").equals(current.path("run").path("options"))) {
+            out.println("⚠️ Las corridas usaron parámetros distintos (run.options): las diferencias no son comparables");
+        }
+        out.printf(Locale.ROOT, "%-50s %10s %10s %10s %10s%n", "operación", "Δ req/s", "Δ p50", "Δ p95", "Δ p99");
+        current.path("operations").fields().forEachRemaining(entry ->
+                printDelta(out, entry.getKey(), baseline.path("operations").path(entry.getKey()), entry.getValue()));
+        printDelta(out, "TOTAL", baseline.path("total"), current.path("total"));
+    }
+
+    private static void printDelta(PrintStream out, String name, JsonNode before, JsonNode after) {
+        if (before.isMissingNode()) {
+            out.printf(Locale.ROOT, "%-50s %10s%n", name, "(nueva)");
+            return;
+        }
+        out.printf(Locale.ROOT, "%-50s %10s %10s %10s %10s%n", name,
+                delta(before, after, "throughput"), delta(before, after, "p50Ms"),
+                delta(before, after, "p95Ms"), delta(before, after, "p99Ms"));
+    }
+
+    private static String delta(JsonNode before, JsonNode after, String field) {
+        double previous = before.path(field).asDouble();
+        if (previous == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (after.path(field).asDouble() - previous) / previous * 100);
+    }
+}
@@ -0,0 +1,229 @@
+package com.myfinances.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga mixta de usuarios concurrentes sobre los datos del perfil datagen
+ *
+ * Cada cliente repite: elegir un usuario y un escenario según los pesos de --mix, ejecutarlo y esperar think-ms
+ * - dashboard: lo que pide el frontend al abrir la pantalla principal, en secuencia
+ * - escrituras: alta de una transacción, lectura, a veces modificación y a veces baja
+ * - reportes: ráfaga de report-burst reportes en paralelo (varios widgets o exportaciones a la vez)
+ */
+final class Workload {
+
+    static final String DASHBOARD = "dashboard";
+    static final String WRITES = "writes";
+    static final String REPORTS = "reports";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HarnessOptions options;
+    private final ApiClient api;
+    private final String accounts;
+    private final String investments;
+    private final List<User> users;
+
+    private Workload(HarnessOptions options, ApiClient api, String accounts, String investments, List<User> users) {
+        this.options = options;
+        this.api = api;
+        this.accounts = accounts;
+        this.investments = investments;
+        this.users = users;
+    }
+
+    /**
+     * Usuario generado por datagen y sus categorías (para las altas)
+     */
+    private record User(UUID id, List<Long> expenseCategories, List<Long> incomeCategories) {
+    }
+
+    /**
+     * Mismos IDs que DatasetGenerator.userId en los servicios
+     */
+    static UUID userId(long seed, int index) {
+        return UUID.nameUUIDFromBytes(("myfinances-datagen:" + seed + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Workload prepare(HarnessOptions options, ApiClient api, String accountUrl, String investmentUrl)
+            throws Exception {
+        LatencyRecorder setup = new LatencyRecorder();
+        List<User> users = new ArrayList<>();
+        for (int index = 0; index < options.users(); index++) {
+            UUID userId = userId(options.seed(), index);
+            ApiClient.Response response = api.get(setup, "setup", accountUrl + "/api/v1/categories", userId);
+            if (!response.ok()) {
+                throw new IllegalStateException("No se pudieron leer las categorías de " + userId + ": " + response);
+            }
+            List<Long> expenses = new ArrayList<>();
+            List<Long> incomes = new ArrayList<>();
+            for (JsonNode category : JSON.readTree(response.body())) {
+                ("INCOME".equals(category.path("type").asText()) ? incomes : expenses).add(category.path("id").asLong());
+            }
+            if (expenses.isEmpty()) {
+                throw new IllegalStateException("El usuario " + userId + " no tiene categorías: ¿corrió el perfil datagen?");
+            }
+            users.add(new User(userId, expenses, incomes));
+        }
+        return new Workload(options, api, accountUrl + "/api/v1", investmentUrl + "/api/v1", users);
+    }
+
+    /**
+     * Corre la carga durante duration y devuelve cuántas veces se completó cada escenario
+     */
+    Map<String, Long> run(Duration duration, LatencyRecorder recorder, long phaseSeed) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Map<String, AtomicLong> iterations = new LinkedHashMap<>();
+        for (String scenario : List.of(DASHBOARD, WRITES, REPORTS)) {
+            iterations.put(scenario, new AtomicLong());
+        }
+
+        List<Future<?>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < options.clients(); c++) {
+                SplittableRandom random = new SplittableRandom(phaseSeed * 1_000_003 + c);
+                clients.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String scenario = pickScenario(random);
+                        User user = users.get(random.nextInt(users.size()));
+                        switch (scenario) {
+                            case DASHBOARD -> dashboard(recorder, user);
+                            case WRITES -> writes(recorder, random, user);
+                            default -> reportBurst(recorder, random, user);
+                        }
+                        iterations.get(scenario).incrementAndGet();
+                        if (!options.thinkTime().isZero()) {
+                            Thread.sleep(options.thinkTime());
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> client : clients) {
+            client.get();
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        iterations.forEach((scenario, count) -> counts.put(scenario, count.get()));
+        return counts;
+    }
+
+    private String pickScenario(SplittableRandom random) {
+        int total = options.dashboardWeight() + options.writeWeight() + options.reportWeight();
+        int pick = random.nextInt(total);
+        if (pick < options.dashboardWeight()) {
+            return DASHBOARD;
+        }
+        return pick < options.dashboardWeight() + options.writeWeight() ? WRITES : REPORTS;
+    }
+
+    // ==================== ESCENARIOS ====================
+
+    private void dashboard(LatencyRecorder recorder, User user) throws InterruptedException {
+        YearMonth month = options.until();
+        api.get(recorder, "AccountController.getUserSummary", accounts + "/accounts/summary", user.id());
+        api.get(recorder, "TransactionController.getBalance", accounts + "/transactions/balance", user.id());
+        api.get(recorder, "TransactionController.getRecentTransactions", accounts + "/transactions/recent", user.id());
+        api.get(recorder, "TransactionController.getAll", accounts + "/transactions?size=20", user.id());
+        api.get(recorder, "ReportController.getMonthlySummary", accounts + "/reports/monthly" + period(month), user.id());
+        api.get(recorder, "ReportController.getExpensesByCategory",
+                accounts + "/reports/expenses/by-category" + period(month), user.id());
+        api.get(recorder, "InvestmentController.getPortfolioSummary", investments + "/investments/portfolio/summary",
+                user.id());
+    }
+
+    private void writes(LatencyRecorder recorder, SplittableRandom random, User user) throws Exception {
+        boolean income = !user.incomeCategories().isEmpty() && random.nextInt(5) == 0;
+        List<Long> categories = income ? user.incomeCategories() : user.expenseCategories();
+        LocalDate date = options.until().atDay(random.nextInt(1, options.until().lengthOfMonth() + 1));
+        String body = String.format(Locale.ROOT,
+                "{\"description\":\"Carga %d\",\"amount\":%d.%02d,\"type\":\"%s\",\"categoryId\":%d,\"date\":\"%sT%02d:%02d:00\"}",
+                random.nextInt(1_000_000), random.nextInt(1, 50_000), random.nextInt(100), income ? "INCOME" : "EXPENSE",
+                categories.get(random.nextInt(categories.size())), date, random.nextInt(8, 23), random.nextInt(60));
+
+        ApiClient.Response created = api.send(recorder, "TransactionController.create", "POST",
+                accounts + "/transactions", user.id(), body);
+        if (!created.ok()) {
+            return;
+        }
+        long id = JSON.readTree(created.body()).path("id").asLong();
+        String url = accounts + "/transactions/" + id;
+
+        api.get(recorder, "TransactionController.getById", url, user.id());
+        if (random.nextBoolean()) {
+            String update = String.format(Locale.ROOT, "{\"amount\":%d.%02d,\"notes\":\"Editada\"}",
+                    random.nextInt(1, 50_000), random.nextInt(100));
+            api.send(recorder, "TransactionController.update", "PUT", url, user.id(), update);
+        }
+        // La mitad se borra: el volumen crece despacio en corridas largas
+        if (random.nextBoolean()) {
+            api.send(recorder, "TransactionController.delete", "DELETE", url, user.id(), null);
+        }
+    }
+
+    private void reportBurst(LatencyRecorder recorder, SplittableRandom random, User user) throws Exception {
+        List<String[]> burst = new ArrayList<>();
+        for (int i = 0; i < options.reportBurst(); i++) {
+            burst.add(randomReport(random));
+        }
+        List<Future<ApiClient.Response>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String[] report : burst) {
+                responses.add(executor.submit(() -> api.get(recorder, report[0], report[1], user.id())));
+            }
+        }
+        for (Future<ApiClient.Response> response : responses) {
+            response.get();
+        }
+    }
+
+    /**
+     * Operación y URL de un reporte al azar dentro del período generado
+     */
+    private String[] randomReport(SplittableRandom random) {
+        YearMonth last = options.until();
+        YearMonth month = last.minusMonths(random.nextInt(options.years() * 12));
+        return switch (random.nextInt(7)) {
+            case 0 -> new String[]{"ReportController.getMonthlyComparison",
+                    accounts + "/reports/monthly-comparison?months=12"};
+            case 1 -> {
+                String granularity = new String[]{"day", "week", "month"}[random.nextInt(3)];
+                yield new String[]{"ReportController.getCashflow", accounts + "/reports/cashflow?from="
+                        + month.minusMonths(11).atDay(1) + "&to=" + month.atEndOfMonth() + "&granularity=" + granularity};
+            }
+            case 2 -> new String[]{"ReportController.getAllExpensesByCategory", accounts + "/reports/expenses/all-by-category"};
+            case 3 -> new String[]{"ReportController.getAllIncomesByCategory", accounts + "/reports/incomes/all-by-category"};
+            case 4 -> new String[]{"ReportController.getMonthlySummary", accounts + "/reports/monthly" + period(month)};
+            case 5 -> new String[]{"ReportController.getIncomesByCategory",
+                    accounts + "/reports/incomes/by-category" + period(month)};
+            default -> {
+                LocalDate start = month.atDay(random.nextInt(1, month.lengthOfMonth() + 1));
+                LocalDate end = start.plusDays(random.nextInt(1, 366));
+                yield new String[]{"TransactionController.getBalanceByDateRange", accounts
+                        + "/transactions/balance/date-range?startDate=" + start + "T00:00:00&endDate=" + end + "T23:59:59"};
+            }
+        };
+    }
+
+    private static String period(YearMonth month) {
+        return "?year=" + month.getYear() + "&month=" + month.getMonthValue();
+    }
+}
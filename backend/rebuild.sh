@@ -15,14 +15,15 @@ echo "🚀 Build + Load de microservicios en Minikube"
 for SERVICE in "${SERVICES[@]}"; do
   echo "=============================="
   echo "🔨 Building $SERVICE"
-  cd "$SERVICE"
-
-  docker build -t "$SERVICE:latest" .
+  if grep -qs "<artifactId>common-web</artifactId>" "$SERVICE/pom.xml"; then
+    # Usa common-web: el contexto de build es backend/
+    docker build -f "$SERVICE/Dockerfile" -t "$SERVICE:latest" .
+  else
+    docker build -t "$SERVICE:latest" "$SERVICE"
+  fi
 
   echo "📦 Loading $SERVICE into Minikube"
   minikube image load "$SERVICE:latest"
-
-  cd ..
 done
 
 echo "=============================="